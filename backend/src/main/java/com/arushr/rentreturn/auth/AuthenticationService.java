@@ -8,14 +8,19 @@ import com.arushr.rentreturn.model.Token;
 import com.arushr.rentreturn.model.User;
 import com.arushr.rentreturn.repository.TokenRepository;
 import com.arushr.rentreturn.repository.UserRepository;
+import com.arushr.rentreturn.security.TokenRevocationIndex;
+import com.arushr.rentreturn.util.HashUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.authentication.LockedException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
@@ -23,29 +28,23 @@ public class AuthenticationService {
 
     private final UserRepository userRepository;
     private final TokenRepository tokenRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final LoginAttemptLimiter loginAttemptLimiter;
 
     @Transactional
     public AuthenticationResponse register(RegisterRequest request) {
         User user = User.builder()
                 .username(request.getUsername())
                 .email(request.getEmail())
-                .password(passwordEncoder.encode(request.getPassword()))
+                .password(passwordHashingService.encode(request.getPassword()))
                 .role(Role.USER)
                 .build();
         User savedUser = userRepository.save(user);
 
         String jwtToken = jwtService.generateToken(savedUser);
-        Token token = Token.builder()
-                .token(jwtToken)
-                .tokenType(TokenType.BEARER)
-                .user(savedUser)
-                .expired(false)
-                .revoked(false)
-                .build();
-        tokenRepository.save(token);
+        saveUserToken(savedUser, jwtToken);
 
         return AuthenticationResponse.builder()
                 .token(jwtToken)
@@ -54,32 +53,71 @@ public class AuthenticationService {
 
     @Transactional
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
+        return authenticate(request, null);
+    }
+
+    @Transactional
+    public AuthenticationResponse authenticate(AuthenticationRequest request, String clientIp) {
         String identifier = request.getIdentifier();
-        User user = userRepository.findByEmail(identifier)
-                .or(() -> userRepository.findByUsername(identifier))
-                .or(() -> userRepository.findByPhone(identifier))
-                .orElseThrow(() -> new RuntimeException("User not found with identifier: " + identifier));
+        loginAttemptLimiter.checkAllowed(identifier, clientIp);
+        Optional<User> resolved = resolveUser(identifier);
+        if (resolved.isEmpty()) {
+            loginAttemptLimiter.recordFailure(identifier, clientIp);
+            throw new RuntimeException("User not found with identifier: " + identifier);
+        }
+        User user = resolved.get();
         if (user.isBlocked()) {
             throw new BusinessRuleException("Your account has been blocked. Please contact support.");
         }
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(user.getEmail(), request.getPassword())
-        );
+        if (!user.isAccountNonLocked()) {
+            throw new LockedException("User account is locked");
+        }
+        if (!user.isEnabled()) {
+            throw new DisabledException("User is disabled");
+        }
+        if (!passwordHashingService.matches(request.getPassword(), user.getPassword())) {
+            loginAttemptLimiter.recordFailure(identifier, clientIp);
+            throw new BadCredentialsException("Bad credentials");
+        }
+        loginAttemptLimiter.recordSuccess(identifier);
         revokeAllUserTokens(user);
         String jwtToken = jwtService.generateToken(user);
-        Token token = Token.builder()
+        saveUserToken(user, jwtToken);
+        return AuthenticationResponse.builder()
                 .token(jwtToken)
+                .build();
+    }
+
+    /**
+     * Resolves an email, username or phone number with a single query.
+     * If the identifier matches several users, email wins over username over phone.
+     */
+    private Optional<User> resolveUser(String identifier) {
+        List<User> candidates = userRepository.findAllByIdentifier(identifier);
+        return candidates.stream()
+                .filter(u -> identifier.equals(u.getEmail()))
+                .findFirst()
+                .or(() -> candidates.stream().filter(u -> identifier.equals(u.getUsername())).findFirst())
+                .or(() -> candidates.stream().findFirst());
+    }
+
+    private void saveUserToken(User user, String jwtToken) {
+        Token token = Token.builder()
+                .tokenHash(HashUtils.sha256Hex(jwtToken))
+                .expiresAt(LocalDateTime.now().plus(Duration.ofMillis(jwtService.getJwtExpiration())))
                 .tokenType(TokenType.BEARER)
                 .user(user)
                 .expired(false)
                 .revoked(false)
                 .build();
         tokenRepository.save(token);
-        return AuthenticationResponse.builder()
-                .token(jwtToken)
-                .build();
     }
 
+    /**
+     * Revokes the user's stored tokens. The token version is left alone: it is
+     * only bumped on explicit revocation (block, delete, password change), so
+     * the version registry stays limited to those users.
+     */
     private void revokeAllUserTokens(User user) {
         List<Token> validTokens = tokenRepository.findAllValidTokensByUserId(user.getId());
         if (validTokens.isEmpty()) return;
@@ -88,5 +126,6 @@ public class AuthenticationService {
             token.setRevoked(true);
         });
         tokenRepository.saveAll(validTokens);
+        validTokens.forEach(tokenRevocationIndex::revoke);
     }
 }
@@ -0,0 +1,147 @@
+package com.arushr.rentreturn.auth;
+
+import com.arushr.rentreturn.exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Counts failed logins per identifier and per client IP over a sliding window
+ * and rejects further attempts above a threshold before any password hashing
+ * happens. Counters live in size-bounded caches, so memory stays flat even
+ * when an attacker cycles through many identifiers or addresses.
+ */
+@Component
+public class LoginAttemptLimiter {
+
+    private final Cache<String, SlidingWindowCounter> byIdentifier;
+    private final Cache<String, SlidingWindowCounter> byIp;
+    private final long windowMs;
+    private final int maxFailuresPerIdentifier;
+    private final int maxFailuresPerIp;
+    private final Counter identifierLockouts;
+    private final Counter ipLockouts;
+
+    public LoginAttemptLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${auth.login-throttle.window-seconds:900}") long windowSeconds,
+            @Value("${auth.login-throttle.max-failures-per-identifier:5}") int maxFailuresPerIdentifier,
+            @Value("${auth.login-throttle.max-failures-per-ip:50}") int maxFailuresPerIp,
+            @Value("${auth.login-throttle.max-tracked-keys:100000}") long maxTrackedKeys
+    ) {
+        this.windowMs = Duration.ofSeconds(windowSeconds).toMillis();
+        this.maxFailuresPerIdentifier = maxFailuresPerIdentifier;
+        this.maxFailuresPerIp = maxFailuresPerIp;
+        // Idle keys fall out after two windows: by then their estimate is zero anyway.
+        this.byIdentifier = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMs * 2))
+                .build();
+        this.byIp = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .expireAfterAccess(Duration.ofMillis(windowMs * 2))
+                .build();
+        this.identifierLockouts = Counter.builder("auth.login.lockouts")
+                .tag("scope", "identifier")
+                .register(meterRegistry);
+        this.ipLockouts = Counter.builder("auth.login.lockouts")
+                .tag("scope", "ip")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.tracked", byIdentifier, Cache::estimatedSize)
+                .tag("scope", "identifier")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.tracked", byIp, Cache::estimatedSize)
+                .tag("scope", "ip")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws TooManyRequestsException if either the identifier or the IP is over its limit
+     */
+    public void checkAllowed(String identifier, String clientIp) {
+        long now = System.currentTimeMillis();
+        SlidingWindowCounter ipCounter = clientIp != null ? byIp.getIfPresent(clientIp) : null;
+        if (ipCounter != null && ipCounter.estimate(now) >= maxFailuresPerIp) {
+            ipLockouts.increment();
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts from this address. Please try again later.",
+                    ipCounter.retryAfterSeconds(now));
+        }
+        SlidingWindowCounter identifierCounter = byIdentifier.getIfPresent(normalize(identifier));
+        if (identifierCounter != null && identifierCounter.estimate(now) >= maxFailuresPerIdentifier) {
+            identifierLockouts.increment();
+            throw new TooManyRequestsException(
+                    "Too many failed login attempts for this account. Please try again later.",
+                    identifierCounter.retryAfterSeconds(now));
+        }
+    }
+
+    public void recordFailure(String identifier, String clientIp) {
+        long now = System.currentTimeMillis();
+        byIdentifier.get(normalize(identifier), key -> new SlidingWindowCounter(windowMs)).increment(now);
+        if (clientIp != null) {
+            byIp.get(clientIp, key -> new SlidingWindowCounter(windowMs)).increment(now);
+        }
+    }
+
+    public void recordSuccess(String identifier) {
+        byIdentifier.invalidate(normalize(identifier));
+    }
+
+    private static String normalize(String identifier) {
+        return identifier == null ? "" : identifier.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Sliding-window counter approximated from the current and previous fixed
+     * windows, weighting the previous one by how much of it still overlaps.
+     * Each counter has its own monitor, so contention is limited to one key.
+     */
+    static final class SlidingWindowCounter {
+
+        private final long windowMs;
+        private long windowStart;
+        private int current;
+        private int previous;
+
+        SlidingWindowCounter(long windowMs) {
+            this.windowMs = windowMs;
+        }
+
+        synchronized void increment(long now) {
+            roll(now);
+            current++;
+        }
+
+        synchronized double estimate(long now) {
+            roll(now);
+            double previousWeight = 1.0 - (double) (now - windowStart) / windowMs;
+            return previous * previousWeight + current;
+        }
+
+        synchronized long retryAfterSeconds(long now) {
+            roll(now);
+            return Math.max(1, (windowStart + windowMs - now) / 1000);
+        }
+
+        private void roll(long now) {
+            long elapsedWindows = (now - windowStart) / windowMs;
+            if (elapsedWindows == 1) {
+                previous = current;
+                current = 0;
+                windowStart += windowMs;
+            } else if (elapsedWindows > 1) {
+                previous = 0;
+                current = 0;
+                windowStart = now - (now % windowMs);
+            }
+        }
+    }
+}
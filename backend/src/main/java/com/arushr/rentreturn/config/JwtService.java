@@ -2,6 +2,7 @@ package com.arushr.rentreturn.config;
 
 import com.arushr.rentreturn.exception.UnauthorizedException;
 import com.arushr.rentreturn.model.User;
+import com.arushr.rentreturn.security.JwtPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
@@ -28,17 +29,25 @@ public class JwtService {
 
     private Key key;
 
+    private JwtParser jwtParser;
+
     @PostConstruct
     public void init() {
         if (secret.length() < 32) {
             throw new IllegalArgumentException("JWT secret must be at least 32 characters long.");
         }
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(User user) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("role", user.getRole().name());
+        claims.put("uid", user.getId());
+        claims.put("email", user.getEmail());
+        claims.put("ver", user.getTokenVersion());
         return buildToken(claims, user.getUsername());
     }
 
@@ -54,6 +63,10 @@ public class JwtService {
                 .compact();
     }
 
+    public long getJwtExpiration() {
+        return jwtExpiration;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -62,11 +75,27 @@ public class JwtService {
         return resolver.apply(parseToken(token));
     }
 
+    /**
+     * Verifies the signature once and returns the claims needed for authentication.
+     */
+    public JwtPrincipal verify(String token) {
+        Claims claims = parseToken(token);
+        if (claims.getExpiration() == null) {
+            throw new UnauthorizedException("JWT token has no expiration");
+        }
+        return new JwtPrincipal(
+                claims.getSubject(),
+                claims.get("uid", Long.class),
+                claims.get("email", String.class),
+                claims.get("role", String.class),
+                claims.get("ver", Integer.class),
+                claims.getExpiration().toInstant()
+        );
+    }
+
     private Claims parseToken(String token) {
         try {
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
+            return jwtParser
                     .parseClaimsJws(token)
                     .getBody();
         } catch (JwtException e) {
@@ -1,22 +1,59 @@
 package com.arushr.rentreturn.config;
 
-import io.github.bucket4j.Bandwidth;
-import io.github.bucket4j.Bucket;
-import io.github.bucket4j.Refill;
+import com.arushr.rentreturn.filter.RateLimitPolicy;
+import com.arushr.rentreturn.service.RateLimitStoreService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class RateLimitConfig {
 
+    /**
+     * Route policies in match order, followed by the default per-client policy.
+     */
     @Bean
-    public Bucket rateLimitBucket() {
-        // Allow 100 requests per minute per IP
-        Bandwidth limit = Bandwidth.classic(100, Refill.greedy(100, Duration.ofMinutes(1)));
-        return Bucket.builder()
-                .addLimit(limit)
-                .build();
+    public List<RateLimitPolicy> rateLimitPolicies(
+            RateLimitProperties properties,
+            RateLimitStoreService rateLimitStoreService,
+            MeterRegistry meterRegistry
+    ) {
+        RateLimitStoreService store = properties.getDistributed().isEnabled() ? rateLimitStoreService : null;
+        long batchSize = properties.getDistributed().getBatchSize();
+        List<RateLimitPolicy> policies = new ArrayList<>();
+        for (RateLimitProperties.Policy policy : properties.getPolicies()) {
+            policies.add(new RateLimitPolicy(
+                    policy.getName(),
+                    policy.getPatterns(),
+                    policy.getMethods(),
+                    policy.getCapacity(),
+                    Duration.ofSeconds(policy.getRefillPeriodSeconds()),
+                    policy.getScope(),
+                    properties.getMaxClients(),
+                    store,
+                    batchSize,
+                    meterRegistry
+            ));
+        }
+        // Allow 100 requests per minute per client by default
+        policies.add(new RateLimitPolicy(
+                "default",
+                List.of("/**"),
+                List.of(),
+                properties.getCapacity(),
+                Duration.ofSeconds(properties.getRefillPeriodSeconds()),
+                RateLimitProperties.Scope.CLIENT,
+                properties.getMaxClients(),
+                store,
+                batchSize,
+                meterRegistry
+        ));
+        return policies;
     }
-} 
\ No newline at end of file
+}
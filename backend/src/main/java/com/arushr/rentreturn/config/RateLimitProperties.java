@@ -0,0 +1,48 @@
+package com.arushr.rentreturn.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Rate-limit settings. Route policies are matched in order; requests that match
+ * none fall back to the default per-client limit.
+ */
+@Data
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitProperties {
+
+    private long capacity = 100;
+    private long refillPeriodSeconds = 60;
+    private long maxClients = 100000;
+    private List<Policy> policies = new ArrayList<>();
+    private Distributed distributed = new Distributed();
+
+    @Data
+    public static class Policy {
+        private String name;
+        private List<String> patterns = new ArrayList<>();
+        /** HTTP methods the policy applies to; empty means all. */
+        private List<String> methods = new ArrayList<>();
+        private long capacity = 100;
+        private long refillPeriodSeconds = 60;
+        private Scope scope = Scope.CLIENT;
+    }
+
+    @Data
+    public static class Distributed {
+        /** Share buckets across nodes through the rate_limit_buckets table. */
+        private boolean enabled = false;
+        /** Tokens each node leases from the shared bucket at a time. */
+        private long batchSize = 10;
+    }
+
+    public enum Scope {
+        /** One bucket per authenticated user or client IP. */
+        CLIENT,
+        /** One bucket shared by every caller of the route group. */
+        GLOBAL
+    }
+}
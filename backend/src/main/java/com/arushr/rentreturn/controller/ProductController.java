@@ -1,14 +1,41 @@
 package com.arushr.rentreturn.controller;
 
 import com.arushr.rentreturn.model.Product;
+import com.arushr.rentreturn.service.CatalogResponseCache;
 import com.arushr.rentreturn.service.ProductService;
+import com.arushr.rentreturn.service.RentalService;
+import com.arushr.rentreturn.service.ProductSuggestIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+
+import com.arushr.rentreturn.dto.product.CatalogVersion;
+import com.arushr.rentreturn.dto.rental.AvailabilityCalendarDTO;
+import com.arushr.rentreturn.dto.product.CategoryDTO;
+import com.arushr.rentreturn.dto.product.ProductBatchDTO;
+import com.arushr.rentreturn.dto.product.ProductChangesDTO;
 import com.arushr.rentreturn.dto.product.ProductDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterResultDTO;
+import com.arushr.rentreturn.dto.product.ProductPageDTO;
+import com.arushr.rentreturn.dto.product.ProductSearchResultDTO;
+import com.arushr.rentreturn.dto.product.ProductSuggestionDTO;
+import com.arushr.rentreturn.enums.ProductSort;
+import com.arushr.rentreturn.exception.ValidationException;
 import jakarta.validation.Valid;
 
 @RestController
@@ -18,6 +45,12 @@ import jakarta.validation.Valid;
 public class ProductController {
 
     private final ProductService productService;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final CatalogResponseCache catalogResponseCache;
+    private final RentalService rentalService;
+
+    @Value("${catalog.http.max-age-seconds:0}")
+    private long maxAgeSeconds;
 
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
@@ -26,15 +59,45 @@ public class ProductController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProduct(@PathVariable Long id) {
-        return productService.findById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<byte[]> getProduct(@PathVariable Long id, ServletWebRequest request) {
+        Optional<Product> found = productService.findById(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Product product = found.get();
+        long lastModified = CatalogVersion.toEpochMillis(product.getUpdatedAt());
+        String eTag = "\"" + product.getId() + "-" + lastModified + "\"";
+        if (notModified(request, eTag, lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return catalogResponseCache.respond(CatalogResponseCache.productKey(id),
+                request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                () -> product, p -> List.of(p.getId()));
     }
 
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
-        return ResponseEntity.ok(productService.findAll());
+    public ResponseEntity<ProductPageDTO> getAllProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "newest") String sort,
+            ServletWebRequest request
+    ) {
+        if (catalogNotModified(request)) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.findPage(parseSort(sort), cursor, limit, false));
+    }
+
+    @GetMapping("/{id}/calendar")
+    public ResponseEntity<AvailabilityCalendarDTO> getCalendar(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(defaultValue = "30") int days
+    ) {
+        return productService.findById(id)
+                .map(product -> ResponseEntity.ok(rentalService.getAvailabilityCalendar(
+                        product, from != null ? from : LocalDate.now(), days)))
+                .orElse(ResponseEntity.notFound().build());
     }
 
     @PutMapping("/{id}")
@@ -54,25 +117,103 @@ public class ProductController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<Product>> searchProducts(
+    public ResponseEntity<?> searchProducts(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String category
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size,
+            ServletWebRequest request
     ) {
-        if (name != null && category != null) {
-            // Combine both filters if both are present
-            return ResponseEntity.ok(
-                productService.findByCategory(category)
-                    .stream()
-                    .filter(p -> p.getName().toLowerCase().contains(name.toLowerCase()))
-                    .toList()
-            );
-        } else if (category != null) {
-            return ResponseEntity.ok(productService.findByCategory(category));
-        } else if (name != null) {
-            return ResponseEntity.ok(productService.searchByName(name));
-        } else {
-            return ResponseEntity.ok(productService.findAll());
+        if (catalogNotModified(request)) {
+            return null;
+        }
+        // "name" is the parameter older clients send
+        String query = q != null ? q : name;
+        if ((query == null || query.isBlank()) && category != null && !category.isBlank()) {
+            // Plain category listings are hot enough to serve pre-serialized
+            return catalogResponseCache.respond(
+                    CatalogResponseCache.categoryKey(category.trim(), page + ":" + size),
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                    () -> productService.search(null, category, page, size),
+                    result -> result.getItems().stream().map(Product::getId).toList());
         }
+        return ResponseEntity.ok(productService.search(query, category, page, size));
+    }
+
+    @GetMapping("/filter")
+    public ResponseEntity<ProductFilterResultDTO> filterProducts(
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(required = false) Long ownerId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "newest") String sort,
+            ServletWebRequest request
+    ) {
+        if (catalogNotModified(request)) {
+            return null;
+        }
+        ProductFilterDTO filter = ProductFilterDTO.builder()
+                .category(category == null || category.isBlank() ? null : category.trim())
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .available(available)
+                .ownerId(ownerId)
+                .build();
+        return ResponseEntity.ok(productService.filter(filter, parseSort(sort), cursor, limit));
+    }
+
+    @GetMapping("/available-between")
+    public ResponseEntity<ProductSearchResultDTO> getAvailableBetween(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @RequestParam(required = false) String category,
+            @RequestParam(required = false) BigDecimal minPrice,
+            @RequestParam(required = false) BigDecimal maxPrice,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(required = false) Integer size
+    ) {
+        ProductFilterDTO filter = ProductFilterDTO.builder()
+                .category(category == null || category.isBlank() ? null : category.trim())
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .build();
+        return ResponseEntity.ok(productService.findAvailableBetween(start, end, filter, page, size));
+    }
+
+    @GetMapping("/batch")
+    public ResponseEntity<ProductBatchDTO> getProductsBatch(@RequestParam List<Long> ids) {
+        return ResponseEntity.ok(productService.findBatch(ids));
+    }
+
+    /** Same as the GET variant, for id lists too long for a query string. */
+    @PostMapping("/batch")
+    public ResponseEntity<ProductBatchDTO> postProductsBatch(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(productService.findBatch(ids));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<ProductChangesDTO> getChanges(
+            @RequestParam(required = false) String since,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return ResponseEntity.ok(productService.findChanges(since, limit));
+    }
+
+    @GetMapping("/categories")
+    public ResponseEntity<List<CategoryDTO>> getCategories() {
+        return ResponseEntity.ok(productService.findCategories());
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit
+    ) {
+        return ResponseEntity.ok(productSuggestIndex.suggest(q, Math.min(limit, 20)));
     }
 
     @PutMapping("/{id}/availability")
@@ -86,7 +227,52 @@ public class ProductController {
     }
 
     @GetMapping("/available")
-    public ResponseEntity<List<Product>> getAvailableProducts() {
-        return ResponseEntity.ok(productService.findAvailable());
+    public ResponseEntity<?> getAvailableProducts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(defaultValue = "newest") String sort,
+            ServletWebRequest request
+    ) {
+        if (catalogNotModified(request)) {
+            return null;
+        }
+        ProductSort productSort = parseSort(sort);
+        if (cursor == null) {
+            // The first page is what most visitors see; later pages are built per request
+            return catalogResponseCache.respond(
+                    CatalogResponseCache.availableKey(productSort + ":" + limit),
+                    request.getHeader(HttpHeaders.ACCEPT_ENCODING),
+                    () -> productService.findPage(productSort, null, limit, true),
+                    result -> result.getItems().stream().map(Product::getId).toList());
+        }
+        return ResponseEntity.ok(productService.findPage(productSort, cursor, limit, true));
+    }
+
+    /**
+     * Listings share one validator derived from the whole catalog, checked
+     * before any query runs; a 304 costs one cached lookup.
+     */
+    private boolean catalogNotModified(ServletWebRequest request) {
+        CatalogVersion version = productService.getCatalogVersion();
+        return notModified(request, version.eTag(), version.lastModifiedMillis());
+    }
+
+    /** Sets the validators and Cache-Control; true if a 304 has already been written. */
+    private boolean notModified(ServletWebRequest request, String eTag, long lastModified) {
+        CacheControl cacheControl = maxAgeSeconds > 0
+                ? CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).mustRevalidate().cachePublic()
+                : CacheControl.noCache().cachePublic();
+        if (request.getResponse() != null) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+        }
+        return request.checkNotModified(eTag, lastModified);
+    }
+
+    private ProductSort parseSort(String sort) {
+        try {
+            return ProductSort.valueOf(sort.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Unsupported sort: " + sort);
+        }
     }
 }
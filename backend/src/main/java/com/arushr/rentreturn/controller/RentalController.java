@@ -137,6 +137,6 @@ public class RentalController {
     @GetMapping("/overdue")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<List<Rental>> getOverdueRentals() {
-        return ResponseEntity.ok(rentalService.findOverdueRentals(LocalDateTime.now()));
+        return ResponseEntity.ok(rentalService.findOverdueRentals());
     }
 }
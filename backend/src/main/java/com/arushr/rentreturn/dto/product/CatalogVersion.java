@@ -0,0 +1,29 @@
+package com.arushr.rentreturn.dto.product;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Collection-level validator for catalog listings: the latest product
+ * modification (soft deletes included) plus the number of product rows.
+ */
+@Value
+public class CatalogVersion {
+    LocalDateTime lastModified;
+    Long count;
+
+    public long lastModifiedMillis() {
+        return toEpochMillis(lastModified);
+    }
+
+    public String eTag() {
+        return "\"catalog-" + lastModifiedMillis() + "-" + count + "\"";
+    }
+
+    /** {@code @UpdateTimestamp} values are generated in the JVM's zone. */
+    public static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp == null ? -1 : timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,14 @@
+package com.arushr.rentreturn.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CategoryDTO {
+    private Integer id;
+    private String name;
+    private long productCount;
+}
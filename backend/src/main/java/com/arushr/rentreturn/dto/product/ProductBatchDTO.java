@@ -0,0 +1,28 @@
+package com.arushr.rentreturn.dto.product;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Batch lookup result: one entry per requested id, in request order.
+ * Missing or deleted products have {@code found = false} and no product.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductBatchDTO {
+    private List<Item> items;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private Long id;
+        private boolean found;
+        private Product product;
+    }
+}
@@ -0,0 +1,24 @@
+package com.arushr.rentreturn.dto.product;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Products changed since a sync cursor, oldest change first. Soft-deleted
+ * products are included with {@code deleted = true} so clients can drop them.
+ * {@code nextCursor} is always set; pass it as {@code since} on the next poll.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductChangesDTO {
+    private List<Product> changes;
+    private String nextCursor;
+    private boolean hasMore;
+}
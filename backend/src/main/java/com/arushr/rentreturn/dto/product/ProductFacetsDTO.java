@@ -0,0 +1,39 @@
+package com.arushr.rentreturn.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Facet counts for a filtered catalog view. Each facet is counted with every
+ * filter applied except its own, so the client can show how many products
+ * switching to another category or price range would return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFacetsDTO {
+    private List<CategoryCount> categories;
+    private List<PriceBucket> priceBuckets;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class CategoryCount {
+        private String category;
+        private long count;
+    }
+
+    /** Half-open range [min, max); max is null for the open-ended top bucket. */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class PriceBucket {
+        private BigDecimal min;
+        private BigDecimal max;
+        private long count;
+    }
+}
@@ -0,0 +1,25 @@
+package com.arushr.rentreturn.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * Catalog filter; null fields are not applied.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterDTO {
+    private String category;
+    /** Resolved from {@link #category} by the service; not bound from the request. */
+    private Integer categoryId;
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private Boolean available;
+    private Long ownerId;
+}
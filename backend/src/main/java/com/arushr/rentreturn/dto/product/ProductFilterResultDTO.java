@@ -0,0 +1,25 @@
+package com.arushr.rentreturn.dto.product;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of filtered products. Facets are only computed for the first page
+ * (no cursor) and are null on subsequent pages.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductFilterResultDTO {
+    private List<Product> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+    private ProductFacetsDTO facets;
+}
@@ -0,0 +1,23 @@
+package com.arushr.rentreturn.dto.product;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of the catalog. {@code nextCursor} is opaque and is null on the last page.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductPageDTO {
+    private List<Product> items;
+    private String nextCursor;
+    private boolean hasNext;
+    private int size;
+}
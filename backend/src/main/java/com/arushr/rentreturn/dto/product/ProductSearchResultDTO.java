@@ -0,0 +1,23 @@
+package com.arushr.rentreturn.dto.product;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of search results, best match first.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSearchResultDTO {
+    private List<Product> items;
+    private int page;
+    private int size;
+    private boolean hasNext;
+}
@@ -0,0 +1,17 @@
+package com.arushr.rentreturn.dto.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductSuggestionDTO {
+    public enum Type { PRODUCT, CATEGORY }
+
+    private Type type;
+    private String text;
+    private Long productId;
+    private String category;
+}
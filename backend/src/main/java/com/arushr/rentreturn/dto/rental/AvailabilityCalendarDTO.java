@@ -0,0 +1,31 @@
+package com.arushr.rentreturn.dto.rental;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Booked and free units of one product per calendar day. A booking counts
+ * against every day it touches, so {@code free} is what can still be rented
+ * for that whole day.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AvailabilityCalendarDTO {
+    private Long productId;
+    private int units;
+    private List<Day> days;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Day {
+        private LocalDate date;
+        private int booked;
+        private int free;
+    }
+}
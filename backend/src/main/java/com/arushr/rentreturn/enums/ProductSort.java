@@ -0,0 +1,30 @@
+package com.arushr.rentreturn.enums;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Catalog orderings usable with keyset pagination. Every ordering ends with
+ * the product id so the sort key is unique.
+ */
+public enum ProductSort {
+    NEWEST("createdAt", Sort.Direction.DESC),
+    OLDEST("createdAt", Sort.Direction.ASC),
+    PRICE_ASC("pricePerDay", Sort.Direction.ASC),
+    PRICE_DESC("pricePerDay", Sort.Direction.DESC);
+
+    private final String property;
+    private final Sort.Direction direction;
+
+    ProductSort(String property, Sort.Direction direction) {
+        this.property = property;
+        this.direction = direction;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, property).and(Sort.by(direction, "id"));
+    }
+}
@@ -0,0 +1,28 @@
+package com.arushr.rentreturn.event;
+
+import com.arushr.rentreturn.model.Product;
+import lombok.Value;
+
+/**
+ * Published whenever a product is created, edited, soft-deleted or has its
+ * availability changed. Listeners that keep derived state (indexes, caches)
+ * should handle it after the surrounding transaction commits.
+ */
+@Value
+public class ProductChangedEvent {
+    Long productId;
+    String name;
+    String category;
+    boolean available;
+    boolean deleted;
+
+    public static ProductChangedEvent of(Product product) {
+        return new ProductChangedEvent(
+                product.getId(),
+                product.getName(),
+                product.getCategory(),
+                product.isAvailable(),
+                product.isDeleted()
+        );
+    }
+}
@@ -0,0 +1,33 @@
+package com.arushr.rentreturn.event;
+
+import com.arushr.rentreturn.enums.RentalStatus;
+import com.arushr.rentreturn.model.Rental;
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published whenever a rental is created, extended, returned or cancelled.
+ * {@code outstanding} is false once the rental no longer needs reminders.
+ */
+@Value
+public class RentalChangedEvent {
+    Long rentalId;
+    LocalDateTime rentalEnd;
+    boolean outstanding;
+    String userEmail;
+    String username;
+    String productName;
+
+    public static RentalChangedEvent of(Rental rental) {
+        return new RentalChangedEvent(
+                rental.getId(),
+                rental.getRentalEnd(),
+                !rental.isDeleted() && rental.getStatus() != RentalStatus.RETURNED
+                        && rental.getStatus() != RentalStatus.CANCELLED,
+                rental.getUser() != null ? rental.getUser().getEmail() : null,
+                rental.getUser() != null ? rental.getUser().getUsername() : null,
+                rental.getProduct() != null ? rental.getProduct().getName() : null
+        );
+    }
+}
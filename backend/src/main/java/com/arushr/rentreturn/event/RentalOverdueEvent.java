@@ -0,0 +1,17 @@
+package com.arushr.rentreturn.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published once for each rental the overdue sweeper moves to OVERDUE, inside
+ * the transaction that changes its status.
+ */
+@Value
+public class RentalOverdueEvent {
+    Long rentalId;
+    Long productId;
+    Long userId;
+    LocalDateTime rentalEnd;
+}
@@ -0,0 +1,80 @@
+package com.arushr.rentreturn.filter;
+
+import com.arushr.rentreturn.service.RateLimitStoreService;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import java.time.Duration;
+
+/**
+ * Node-local near-cache over a shared bucket. Tokens are leased from the store
+ * in batches and handed out locally, so the database is touched roughly once
+ * per batch instead of once per request. When the shared bucket is empty the
+ * rejection is remembered until the next token is due. The store call happens
+ * outside the monitor; if the store is unavailable, whether the query fails or
+ * the transaction cannot be opened, the same limit is enforced by a bucket
+ * local to this node.
+ */
+@Slf4j
+class LeasedTokenBucket {
+
+    private final String bucketKey;
+    private final long capacity;
+    private final Duration refillPeriod;
+    private final long batchSize;
+    private final long nanosPerToken;
+    private final RateLimitStoreService store;
+    private final Bucket fallback;
+
+    private long available;
+    private long emptyUntilNanos;
+
+    LeasedTokenBucket(String bucketKey, long capacity, Duration refillPeriod, long batchSize,
+                      RateLimitStoreService store) {
+        this.bucketKey = bucketKey;
+        this.capacity = capacity;
+        this.refillPeriod = refillPeriod;
+        this.batchSize = Math.max(1, Math.min(batchSize, capacity));
+        this.nanosPerToken = Math.max(1, refillPeriod.toNanos() / Math.max(1, capacity));
+        this.store = store;
+        this.fallback = Bucket.builder()
+                .addLimit(Bandwidth.classic(capacity, Refill.greedy(capacity, refillPeriod)))
+                .build();
+    }
+
+    ConsumptionProbe tryConsume() {
+        synchronized (this) {
+            if (available > 0) {
+                available--;
+                return ConsumptionProbe.consumed(available, 0);
+            }
+            long now = System.nanoTime();
+            if (now - emptyUntilNanos < 0) {
+                return ConsumptionProbe.rejected(0, emptyUntilNanos - now, refillPeriod.toNanos());
+            }
+        }
+        long leased;
+        try {
+            leased = store.reserve(bucketKey, capacity, refillPeriod, batchSize);
+        } catch (DataAccessException | TransactionException e) {
+            // A dead pool fails when the transaction opens, before any DataAccessException
+            log.warn("Rate-limit store unavailable, enforcing {} locally: {}", bucketKey, e.getMessage());
+            return fallback.tryConsumeAndReturnRemaining(1);
+        }
+        synchronized (this) {
+            // Threads that found the bucket empty together may each have leased a batch
+            available += leased;
+            if (available > 0) {
+                available--;
+                return ConsumptionProbe.consumed(available, 0);
+            }
+            emptyUntilNanos = System.nanoTime() + nanosPerToken;
+            return ConsumptionProbe.rejected(0, nanosPerToken, refillPeriod.toNanos());
+        }
+    }
+}
@@ -1,22 +1,28 @@
 package com.arushr.rentreturn.filter;
 
-import io.github.bucket4j.Bucket;
+import com.arushr.rentreturn.security.UserPrincipal;
+import io.github.bucket4j.ConsumptionProbe;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @RequiredArgsConstructor
 public class RateLimitFilter extends OncePerRequestFilter {
 
-    private final Bucket rateLimitBucket;
+    private final List<RateLimitPolicy> rateLimitPolicies;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -30,11 +36,45 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        if (rateLimitBucket.tryConsume(1)) {
+        RateLimitPolicy policy = resolvePolicy(request);
+        if (policy == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        ConsumptionProbe probe = policy.tryConsume(resolveClientKey(request));
+        response.setHeader("X-RateLimit-Policy", policy.getName());
+        response.setHeader("X-RateLimit-Limit", String.valueOf(policy.getCapacity()));
+        response.setHeader("X-RateLimit-Remaining", String.valueOf(probe.getRemainingTokens()));
+
+        if (probe.isConsumed()) {
             filterChain.doFilter(request, response);
         } else {
+            long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(probe.getNanosToWaitForRefill()) + 1);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setHeader("X-RateLimit-Reset", String.valueOf(retryAfterSeconds));
             response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
             response.getWriter().write("Rate limit exceeded. Please try again later.");
         }
     }
-} 
\ No newline at end of file
+
+    private RateLimitPolicy resolvePolicy(HttpServletRequest request) {
+        String method = request.getMethod();
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (RateLimitPolicy policy : rateLimitPolicies) {
+            if (policy.matches(method, path)) {
+                return policy;
+            }
+        }
+        return null;
+    }
+
+    private String resolveClientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId() != null) {
+            return "user:" + principal.getId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
@@ -0,0 +1,120 @@
+package com.arushr.rentreturn.filter;
+
+import com.arushr.rentreturn.config.RateLimitProperties.Scope;
+import com.arushr.rentreturn.service.RateLimitStoreService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.bucket4j.Bandwidth;
+import io.github.bucket4j.Bucket;
+import io.github.bucket4j.ConsumptionProbe;
+import io.github.bucket4j.Refill;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.util.AntPathMatcher;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A bandwidth applied to one group of routes, with its own buckets and
+ * allowed/rejected counters. Buckets are node-local unless a shared store is
+ * given, in which case each bucket is a near-cache over a cluster-wide one.
+ */
+public class RateLimitPolicy {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String GLOBAL_KEY = "*";
+
+    private final String name;
+    private final List<String> patterns;
+    private final Set<String> methods;
+    private final Scope scope;
+    private final long capacity;
+    private final Duration refillPeriod;
+    private final Bandwidth bandwidth;
+    private final RateLimitStoreService store;
+    private final long leaseBatchSize;
+    private final Cache<String, Bucket> localBuckets;
+    private final Cache<String, LeasedTokenBucket> leasedBuckets;
+    private final Counter allowed;
+    private final Counter rejected;
+
+    public RateLimitPolicy(
+            String name,
+            List<String> patterns,
+            List<String> methods,
+            long capacity,
+            Duration refillPeriod,
+            Scope scope,
+            long maxClients,
+            RateLimitStoreService store,
+            long leaseBatchSize,
+            MeterRegistry meterRegistry
+    ) {
+        this.name = name;
+        this.patterns = List.copyOf(patterns);
+        this.methods = methods.stream()
+                .map(m -> m.toUpperCase(Locale.ROOT))
+                .collect(Collectors.toUnmodifiableSet());
+        this.scope = scope;
+        this.capacity = capacity;
+        this.refillPeriod = refillPeriod;
+        this.bandwidth = Bandwidth.classic(capacity, Refill.greedy(capacity, refillPeriod));
+        this.store = store;
+        this.leaseBatchSize = leaseBatchSize;
+        // A bucket idle for a full refill period is back at capacity, so dropping it loses nothing.
+        this.localBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refillPeriod)
+                .build();
+        this.leasedBuckets = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterAccess(refillPeriod)
+                .build();
+        this.allowed = Counter.builder("rate_limit.requests")
+                .tag("policy", name)
+                .tag("outcome", "allowed")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("rate_limit.requests")
+                .tag("policy", name)
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    public boolean matches(String method, String path) {
+        if (!methods.isEmpty() && !methods.contains(method)) {
+            return false;
+        }
+        for (String pattern : patterns) {
+            if (PATH_MATCHER.match(pattern, path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public ConsumptionProbe tryConsume(String clientKey) {
+        String key = scope == Scope.GLOBAL ? GLOBAL_KEY : clientKey;
+        ConsumptionProbe probe;
+        if (store != null) {
+            probe = leasedBuckets.get(key, k -> new LeasedTokenBucket(
+                    name + ":" + k, capacity, refillPeriod, leaseBatchSize, store)).tryConsume();
+        } else {
+            probe = localBuckets.get(key, k -> Bucket.builder().addLimit(bandwidth).build())
+                    .tryConsumeAndReturnRemaining(1);
+        }
+        (probe.isConsumed() ? allowed : rejected).increment();
+        return probe;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,38 @@
+package com.arushr.rentreturn.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "categories")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class Category implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    /** Canonical display name. */
+    @Column(nullable = false, length = 50)
+    private String name;
+
+    /** Trimmed, lower-cased name; the lookup key. */
+    @Column(name = "normalized_name", nullable = false, unique = true, length = 50)
+    private String normalizedName;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.arushr.rentreturn.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Lease row for a scheduled job. Only the node named in {@code lockedBy} may
+ * run the job until {@code lockedUntil}; {@code highWaterMark} records how far
+ * the job has processed so the next holder resumes from there.
+ */
+@Entity
+@Table(name = "job_leases")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class JobLease implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "locked_until", nullable = false)
+    private LocalDateTime lockedUntil;
+
+    @Column(name = "locked_by", length = 100)
+    private String lockedBy;
+
+    @Column(name = "high_water_mark")
+    private LocalDateTime highWaterMark;
+}
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class Product implements Serializable {
 
     @Serial
@@ -51,6 +51,10 @@ public class Product implements Serializable {
     @Column(length = 50, nullable = false)
     private String category;
 
+    /** Id in the categories dictionary; {@link #category} holds its canonical name. */
+    @Column(name = "category_id")
+    private Integer categoryId;
+
     @Size(max = 255)
     @Column(length = 255)
     private String imageUrl;
@@ -0,0 +1,60 @@
+package com.arushr.rentreturn.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * Shared token-bucket state for cluster-wide rate limiting. Nodes lease tokens
+ * from a row in batches, each lease a read-modify-write under a row lock.
+ */
+@Entity
+@Table(name = "rate_limit_buckets", indexes = {
+    @Index(name = "idx_rate_limit_buckets_refilled_at", columnList = "refilled_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateLimitBucket implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(name = "bucket_key", length = 200)
+    private String bucketKey;
+
+    @Column(nullable = false)
+    private double tokens;
+
+    /** Epoch millis of the last refill calculation. */
+    @Column(name = "refilled_at", nullable = false)
+    private long refilledAt;
+
+    @Version
+    private Long version;
+
+    /**
+     * Adds the tokens accrued since the last refill, capped at capacity.
+     */
+    public void refill(long capacity, long refillPeriodMs, long nowMs) {
+        if (nowMs > refilledAt) {
+            double accrued = (double) (nowMs - refilledAt) * capacity / refillPeriodMs;
+            this.tokens = Math.min(capacity, tokens + accrued);
+            this.refilledAt = nowMs;
+        }
+    }
+
+    /**
+     * Takes up to {@code requested} whole tokens and returns how many were taken.
+     */
+    public long take(long requested) {
+        long granted = Math.min(requested, (long) Math.floor(tokens));
+        this.tokens -= granted;
+        return granted;
+    }
+}
@@ -15,9 +15,12 @@ import java.time.LocalDateTime;
 
 /**
  * Token entity for managing user JWT refresh tokens.
+ * Only the SHA-256 digest of the JWT is stored.
  */
 @Entity
-@Table(name = "tokens")
+@Table(name = "tokens", indexes = {
+    @Index(name = "idx_tokens_expires_at", columnList = "expires_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -33,8 +36,13 @@ public class Token implements Serializable {
     private Long id;
 
     @NotBlank
-    @Column(nullable = false, unique = true, length = 512)
-    private String token;
+    @Size(min = 64, max = 64)
+    @Column(name = "token_hash", nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    @NotNull
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false, length = 20)
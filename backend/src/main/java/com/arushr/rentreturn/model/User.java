@@ -8,7 +8,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
-import org.hibernate.annotations.Index;
 
 import java.io.Serial;
 import java.io.Serializable;
@@ -33,7 +32,7 @@ import jakarta.validation.constraints.Size;
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 public class User implements UserDetails, Serializable {
 
     @Serial
@@ -80,6 +79,11 @@ public class User implements UserDetails, Serializable {
     @Builder.Default
     private boolean blocked = false;
 
+    @JsonIgnore
+    @Builder.Default
+    @Column(nullable = false)
+    private int tokenVersion = 0;
+
     private String createdBy;
     private String updatedBy;
 
@@ -183,6 +187,13 @@ public class User implements UserDetails, Serializable {
         this.enabled = false;
     }
 
+    /**
+     * Invalidates every token issued before this call in stateless token mode.
+     */
+    public void bumpTokenVersion() {
+        this.tokenVersion++;
+    }
+
     public void restore() {
         this.deleted = false;
         this.enabled = true;
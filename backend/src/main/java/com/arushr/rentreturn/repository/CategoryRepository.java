@@ -0,0 +1,32 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Integer> {
+
+    Optional<Category> findByNormalizedName(String normalizedName);
+
+    /** Safe under concurrent creates of the same category; the loser's insert is a no-op. */
+    @Modifying
+    @Query(value = "INSERT INTO categories (name, normalized_name) VALUES (:name, :normalizedName) "
+            + "ON CONFLICT (normalized_name) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name, @Param("normalizedName") String normalizedName);
+
+    interface CategoryCountView {
+        Integer getCategoryId();
+        long getProductCount();
+    }
+
+    @Query("SELECT p.categoryId AS categoryId, COUNT(p) AS productCount FROM Product p "
+            + "WHERE p.deleted = false AND p.categoryId IS NOT NULL GROUP BY p.categoryId")
+    List<CategoryCountView> countLiveProductsByCategory();
+}
@@ -0,0 +1,40 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.model.JobLease;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface JobLeaseRepository extends JpaRepository<JobLease, String> {
+
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO job_leases (name, locked_until) VALUES (:name, TIMESTAMP 'epoch') "
+            + "ON CONFLICT (name) DO NOTHING", nativeQuery = true)
+    int createIfAbsent(@Param("name") String name);
+
+    /** Takes the lease if it has expired or is already held by {@code owner}. */
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.lockedUntil = :until, l.lockedBy = :owner "
+            + "WHERE l.name = :name AND (l.lockedUntil < :now OR l.lockedBy = :owner)")
+    int tryAcquire(@Param("name") String name, @Param("owner") String owner,
+                   @Param("now") LocalDateTime now, @Param("until") LocalDateTime until);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.lockedUntil = :now WHERE l.name = :name AND l.lockedBy = :owner")
+    int release(@Param("name") String name, @Param("owner") String owner, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE JobLease l SET l.highWaterMark = :mark WHERE l.name = :name AND l.lockedBy = :owner")
+    int advanceHighWaterMark(@Param("name") String name, @Param("owner") String owner,
+                             @Param("mark") LocalDateTime mark);
+}
@@ -5,6 +5,7 @@ import com.arushr.rentreturn.model.Rental;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 import org.springframework.data.jpa.repository.Query;
@@ -37,5 +38,15 @@ public interface PaymentRepository extends JpaRepository<Payment, Long> {
 
     Optional<Payment> findByStripePaymentIntentId(String stripePaymentIntentId);
 
+    List<Payment> findByRentalUserId(Long userId);
+
+    List<Payment> findByMethod(String method);
+
+    List<Payment> findByPaidAtBetween(LocalDateTime start, LocalDateTime end);
+
+    List<Payment> findBySuccessful(boolean successful);
+
+    List<Payment> findByAmountBetween(Double min, Double max);
+
     // Add as needed for new service methods
 }
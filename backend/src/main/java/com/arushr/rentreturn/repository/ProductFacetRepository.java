@@ -0,0 +1,17 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.dto.product.ProductFacetsDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductFacetRepository {
+
+    /**
+     * Category and price-bucket counts for the filter, in one aggregate pass.
+     *
+     * @param priceBounds ascending bucket boundaries; n bounds give n + 1 buckets
+     */
+    ProductFacetsDTO countFacets(ProductFilterDTO filter, List<BigDecimal> priceBounds);
+}
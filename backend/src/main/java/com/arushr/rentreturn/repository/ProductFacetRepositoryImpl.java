@@ -0,0 +1,95 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.dto.product.ProductFacetsDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.util.Assert;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Facets are computed with GROUPING SETS over (category) and (price bucket).
+ * Only the filters that are not facets go in the WHERE clause; the category
+ * and price filters are applied as aggregate FILTERs instead, so each facet
+ * row can be counted without its own filter in the same scan.
+ */
+class ProductFacetRepositoryImpl implements ProductFacetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public ProductFacetsDTO countFacets(ProductFilterDTO filter, List<BigDecimal> priceBounds) {
+        Map<String, Object> params = new HashMap<>();
+        List<String> where = new ArrayList<>(List.of("p.deleted = FALSE"));
+        if (filter.getAvailable() != null) {
+            where.add("p.available = :available");
+            params.put("available", filter.getAvailable());
+        }
+        if (filter.getOwnerId() != null) {
+            where.add("p.owner_id = :ownerId");
+            params.put("ownerId", filter.getOwnerId());
+        }
+
+        List<String> priceMatch = new ArrayList<>(List.of("TRUE"));
+        if (filter.getMinPrice() != null) {
+            priceMatch.add("p.price_per_day >= :minPrice");
+            params.put("minPrice", filter.getMinPrice());
+        }
+        if (filter.getMaxPrice() != null) {
+            priceMatch.add("p.price_per_day <= :maxPrice");
+            params.put("maxPrice", filter.getMaxPrice());
+        }
+        String categoryMatch = "TRUE";
+        if (filter.getCategoryId() != null) {
+            categoryMatch = "p.category_id = :categoryId";
+            params.put("categoryId", filter.getCategoryId());
+        }
+
+        // Bounds come from configuration as BigDecimals, never from the request
+        Assert.notEmpty(priceBounds, "At least one price bucket boundary is required");
+        String bucket = "width_bucket(p.price_per_day, ARRAY[" + priceBounds.stream()
+                .map(BigDecimal::toPlainString)
+                .collect(Collectors.joining(",")) + "]::numeric[])";
+
+        String sql = "SELECT GROUPING(p.category), p.category, " + bucket + ", "
+                + "count(*) FILTER (WHERE " + String.join(" AND ", priceMatch) + "), "
+                + "count(*) FILTER (WHERE " + categoryMatch + ") "
+                + "FROM products p WHERE " + String.join(" AND ", where) + " "
+                + "GROUP BY GROUPING SETS ((p.category), (" + bucket + "))";
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+
+        List<ProductFacetsDTO.CategoryCount> categories = new ArrayList<>();
+        long[] bucketCounts = new long[priceBounds.size() + 1];
+        for (Object row : query.getResultList()) {
+            Object[] cols = (Object[]) row;
+            boolean priceRow = ((Number) cols[0]).intValue() == 1;
+            if (priceRow) {
+                bucketCounts[((Number) cols[2]).intValue()] = ((Number) cols[4]).longValue();
+            } else {
+                long count = ((Number) cols[3]).longValue();
+                if (count > 0 && cols[1] != null) {
+                    categories.add(new ProductFacetsDTO.CategoryCount((String) cols[1], count));
+                }
+            }
+        }
+        categories.sort((a, b) -> Long.compare(b.getCount(), a.getCount()));
+
+        List<ProductFacetsDTO.PriceBucket> buckets = new ArrayList<>(bucketCounts.length);
+        for (int i = 0; i < bucketCounts.length; i++) {
+            BigDecimal min = i == 0 ? BigDecimal.ZERO : priceBounds.get(i - 1);
+            BigDecimal max = i < priceBounds.size() ? priceBounds.get(i) : null;
+            buckets.add(new ProductFacetsDTO.PriceBucket(min, max, bucketCounts[i]));
+        }
+        return new ProductFacetsDTO(categories, buckets);
+    }
+}
@@ -1,14 +1,31 @@
 package com.arushr.rentreturn.repository;
 
+import com.arushr.rentreturn.dto.product.CatalogVersion;
 import com.arushr.rentreturn.model.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>,
+        JpaSpecificationExecutor<Product>, ProductFacetRepository {
 
     Optional<Product> findByNameIgnoreCase(String name);
 
@@ -16,23 +33,30 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
 
     List<Product> findAllByDeletedFalse();
 
-    List<Product> findAllByCategoryIgnoreCase(String category);
-
     List<Product> findAllByNameContainingIgnoreCaseOrDescriptionContainingIgnoreCase(String name, String description);
 
+    @EntityGraph(attributePaths = "owner")
     List<Product> findAllByAvailableTrueAndDeletedFalse();
 
     List<Product> findAllByCreatedBy(String createdBy);
 
     long countByDeletedFalse();
 
-    long countByCategoryIgnoreCase(String category);
-
     List<Product> findTop5ByDeletedFalseOrderByCreatedAtDesc();
 
     List<Product> findTop5ByDeletedFalseOrderByUpdatedAtDesc();
 
-    List<Product> findByCategoryIgnoreCaseAndDeletedFalse(String category);
+    /** Loads the owner eagerly so the product can be cached and serialized detached. */
+    @EntityGraph(attributePaths = "owner")
+    Optional<Product> findWithOwnerByIdAndDeletedFalse(Long id);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Product> findWithOwnerByIdInAndDeletedFalse(Collection<Long> ids);
+
+    /** Holds the product row until the transaction ends; bookings of one product serialize on it across nodes. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.id FROM Product p WHERE p.id = :id")
+    Optional<Long> lockById(@Param("id") Long id);
 
     List<Product> findByNameContainingIgnoreCaseAndDeletedFalse(String name);
 
@@ -41,4 +65,89 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findAllByDeleted(boolean deleted);
 
     long countByAvailableTrueAndDeletedFalse();
+
+    Window<Product> findByDeletedFalse(ScrollPosition position, Sort sort, Limit limit);
+
+    Window<Product> findByAvailableTrueAndDeletedFalse(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "owner")
+    List<Product> findByCategoryIdAndDeletedFalse(Integer categoryId);
+
+    Slice<Product> findByCategoryIdAndDeletedFalse(Integer categoryId, Pageable pageable);
+
+    Slice<Product> findByDeletedFalse(Pageable pageable);
+
+    /**
+     * Ranked search: full-text matches on the weighted search_vector, plus
+     * trigram matches on the name so misspelled queries still find products.
+     */
+    @Query(value = """
+            SELECT p.* FROM products p, websearch_to_tsquery('english', :query) q
+            WHERE p.deleted = FALSE
+              AND (p.search_vector @@ q OR p.name % :query)
+              AND (CAST(:categoryId AS integer) IS NULL OR p.category_id = CAST(:categoryId AS integer))
+            ORDER BY ts_rank_cd(p.search_vector, q) DESC, similarity(p.name, :query) DESC, p.id DESC
+            """, nativeQuery = true)
+    Slice<Product> search(@Param("query") String query, @Param("categoryId") Integer categoryId, Pageable pageable);
+
+    /**
+     * Live, available products matching the optional category and price filters
+     * that have a free unit for the whole of [start, end). Overlapping rentals
+     * are found through the GiST range index; the peak number of concurrent
+     * bookings inside the window is computed per product with a running sum
+     * over booking boundaries and compared with stock.
+     */
+    @Query(value = """
+            WITH candidates AS (
+                SELECT p.id FROM products p
+                WHERE p.deleted = FALSE AND p.available = TRUE AND p.stock > 0
+                  AND (CAST(:categoryId AS integer) IS NULL OR p.category_id = CAST(:categoryId AS integer))
+                  AND (CAST(:minPrice AS numeric) IS NULL OR p.price_per_day >= CAST(:minPrice AS numeric))
+                  AND (CAST(:maxPrice AS numeric) IS NULL OR p.price_per_day <= CAST(:maxPrice AS numeric))
+            ),
+            boundaries AS (
+                SELECT r.product_id, greatest(r.rental_start, :start) AS at, 1 AS delta
+                FROM rentals r JOIN candidates c ON c.id = r.product_id
+                WHERE r.deleted = FALSE AND r.status <> 'RETURNED'
+                  AND tsrange(r.rental_start, r.rental_end, '[)') && tsrange(:start, :end, '[)')
+                UNION ALL
+                SELECT r.product_id, least(r.rental_end, :end), -1
+                FROM rentals r JOIN candidates c ON c.id = r.product_id
+                WHERE r.deleted = FALSE AND r.status <> 'RETURNED'
+                  AND tsrange(r.rental_start, r.rental_end, '[)') && tsrange(:start, :end, '[)')
+            ),
+            peaks AS (
+                SELECT product_id, max(booked) AS peak FROM (
+                    SELECT product_id,
+                           sum(delta) OVER (PARTITION BY product_id ORDER BY at, delta ROWS UNBOUNDED PRECEDING) AS booked
+                    FROM boundaries
+                ) running
+                GROUP BY product_id
+            )
+            SELECT p.* FROM products p
+            JOIN candidates c ON c.id = p.id
+            LEFT JOIN peaks k ON k.product_id = p.id
+            WHERE coalesce(k.peak, 0) < p.stock
+            ORDER BY p.id
+            """, nativeQuery = true)
+    Slice<Product> findAvailableBetween(@Param("start") LocalDateTime start,
+                                        @Param("end") LocalDateTime end,
+                                        @Param("categoryId") Integer categoryId,
+                                        @Param("minPrice") BigDecimal minPrice,
+                                        @Param("maxPrice") BigDecimal maxPrice,
+                                        Pageable pageable);
+
+    @Query("SELECT new com.arushr.rentreturn.dto.product.CatalogVersion(MAX(p.updatedAt), COUNT(p)) FROM Product p")
+    CatalogVersion findCatalogVersion();
+
+    interface SuggestEntryView {
+        Long getId();
+        String getName();
+        String getCategory();
+        boolean isAvailable();
+    }
+
+    @Query("SELECT p.id AS id, p.name AS name, p.category AS category, p.available AS available "
+            + "FROM Product p WHERE p.deleted = false")
+    List<SuggestEntryView> findAllSuggestEntries();
 }
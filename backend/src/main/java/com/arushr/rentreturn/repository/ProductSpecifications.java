@@ -0,0 +1,45 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+import com.arushr.rentreturn.model.Product;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public final class ProductSpecifications {
+
+    private ProductSpecifications() {
+    }
+
+    /** Live products matching every non-null field of the filter. */
+    public static Specification<Product> matching(ProductFilterDTO filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isFalse(root.get("deleted")));
+            if (filter.getCategoryId() != null) {
+                predicates.add(cb.equal(root.get("categoryId"), filter.getCategoryId()));
+            }
+            if (filter.getMinPrice() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("pricePerDay"), filter.getMinPrice()));
+            }
+            if (filter.getMaxPrice() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("pricePerDay"), filter.getMaxPrice()));
+            }
+            if (filter.getAvailable() != null) {
+                predicates.add(cb.equal(root.get("available"), filter.getAvailable()));
+            }
+            if (filter.getOwnerId() != null) {
+                predicates.add(cb.equal(root.get("owner").get("id"), filter.getOwnerId()));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    /** Every product, deleted ones included, last modified no later than the cutoff. */
+    public static Specification<Product> modifiedUpTo(LocalDateTime cutoff) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("updatedAt"), cutoff);
+    }
+}
@@ -0,0 +1,33 @@
+package com.arushr.rentreturn.repository;
+
+import com.arushr.rentreturn.model.RateLimitBucket;
+import jakarta.persistence.LockModeType;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface RateLimitBucketRepository extends JpaRepository<RateLimitBucket, String> {
+
+    /** Creates a full bucket; a no-op if another node created it first. */
+    @Modifying
+    @Query(value = "INSERT INTO rate_limit_buckets (bucket_key, tokens, refilled_at, version) "
+            + "VALUES (:bucketKey, :tokens, :refilledAt, 0) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("bucketKey") String bucketKey, @Param("tokens") double tokens,
+                       @Param("refilledAt") long refilledAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM RateLimitBucket b WHERE b.bucketKey = :bucketKey")
+    Optional<RateLimitBucket> findForUpdate(@Param("bucketKey") String bucketKey);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RateLimitBucket b WHERE b.refilledAt < :cutoff")
+    int deleteIdleBefore(@Param("cutoff") long cutoff);
+}
@@ -4,11 +4,17 @@ import com.arushr.rentreturn.enums.RentalStatus;
 import com.arushr.rentreturn.model.Rental;
 import com.arushr.rentreturn.model.User;
 import com.arushr.rentreturn.model.Product;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -52,4 +58,88 @@ public interface RentalRepository extends JpaRepository<Rental, Long> {
 
     long countByUserIdAndStatusAndDeletedFalse(Long userId, com.arushr.rentreturn.enums.RentalStatus status);
     boolean existsByUserIdAndProductIdAndStatusAndDeletedFalse(Long userId, Long productId, com.arushr.rentreturn.enums.RentalStatus status);
+
+    interface BookingView {
+        Long getId();
+        LocalDateTime getRentalStart();
+        LocalDateTime getRentalEnd();
+    }
+
+    /** Unreturned, live rentals of the product that end after {@code from}. */
+    @Query("SELECT r.id AS id, r.rentalStart AS rentalStart, r.rentalEnd AS rentalEnd FROM Rental r "
+            + "WHERE r.product.id = :productId AND r.deleted = false AND r.status <> :returned "
+            + "AND r.rentalEnd > :from")
+    List<BookingView> findBookings(@Param("productId") Long productId, @Param("from") LocalDateTime from,
+                                   @Param("returned") RentalStatus returned);
+
+    default List<BookingView> findBookings(Long productId, LocalDateTime from) {
+        return findBookings(productId, from, RentalStatus.RETURNED);
+    }
+
+    @Query("SELECT r.id AS id, r.rentalStart AS rentalStart, r.rentalEnd AS rentalEnd FROM Rental r "
+            + "WHERE r.product.id = :productId AND r.deleted = false AND r.status <> :returned "
+            + "AND r.rentalStart < :end AND r.rentalEnd > :start")
+    List<BookingView> findBookingsBetween(@Param("productId") Long productId, @Param("start") LocalDateTime start,
+                                          @Param("end") LocalDateTime end, @Param("returned") RentalStatus returned);
+
+    default List<BookingView> findBookingsBetween(Long productId, LocalDateTime start, LocalDateTime end) {
+        return findBookingsBetween(productId, start, end, RentalStatus.RETURNED);
+    }
+
+    interface DueView {
+        Long getId();
+        Long getProductId();
+        Long getUserId();
+        LocalDateTime getRentalEnd();
+    }
+
+    /**
+     * Locks the next outstanding rentals whose end falls in (from, to], oldest
+     * first, for the overdue sweeper.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r.id AS id, r.product.id AS productId, r.user.id AS userId, r.rentalEnd AS rentalEnd "
+            + "FROM Rental r WHERE r.deleted = false AND r.status IN :statuses "
+            + "AND r.rentalEnd > :from AND r.rentalEnd <= :to ORDER BY r.rentalEnd, r.id")
+    List<DueView> lockDueBetween(@Param("statuses") Collection<RentalStatus> statuses,
+                                 @Param("from") LocalDateTime from, @Param("to") LocalDateTime to,
+                                 Limit limit);
+
+    interface ReminderView {
+        Long getId();
+        LocalDateTime getRentalEnd();
+        String getUserEmail();
+        String getUsername();
+        String getProductName();
+    }
+
+    /** Outstanding rentals ending in (from, to], read through the rental_end index for reminders. */
+    @Query("SELECT r.id AS id, r.rentalEnd AS rentalEnd, u.email AS userEmail, u.username AS username, "
+            + "p.name AS productName FROM Rental r JOIN r.user u JOIN r.product p "
+            + "WHERE r.deleted = false AND r.status IN :statuses AND r.rentalEnd > :from AND r.rentalEnd <= :to")
+    List<ReminderView> findRemindersEndingBetween(@Param("statuses") Collection<RentalStatus> statuses,
+                                                  @Param("from") LocalDateTime from,
+                                                  @Param("to") LocalDateTime to);
+
+    /** Outstanding rentals ending in (from, to] that were written after {@code since}. */
+    @Query("SELECT r.id AS id, r.rentalEnd AS rentalEnd, u.email AS userEmail, u.username AS username, "
+            + "p.name AS productName FROM Rental r JOIN r.user u JOIN r.product p "
+            + "WHERE r.deleted = false AND r.status IN :statuses AND r.updatedAt > :since "
+            + "AND r.rentalEnd > :from AND r.rentalEnd <= :to")
+    List<ReminderView> findRemindersUpdatedSince(@Param("statuses") Collection<RentalStatus> statuses,
+                                                 @Param("since") LocalDateTime since,
+                                                 @Param("from") LocalDateTime from,
+                                                 @Param("to") LocalDateTime to);
+
+    @Query("SELECT r.id AS id, r.rentalEnd AS rentalEnd, u.email AS userEmail, u.username AS username, "
+            + "p.name AS productName FROM Rental r JOIN r.user u JOIN r.product p "
+            + "WHERE r.id IN :ids AND r.deleted = false AND r.status IN :statuses")
+    List<ReminderView> findReminders(@Param("ids") Collection<Long> ids,
+                                     @Param("statuses") Collection<RentalStatus> statuses);
+
+    @Modifying
+    @Query("UPDATE Rental r SET r.status = :status, r.updatedAt = :now, "
+            + "r.version = COALESCE(r.version, 0) + 1 WHERE r.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") RentalStatus status,
+                     @Param("now") LocalDateTime now);
 }
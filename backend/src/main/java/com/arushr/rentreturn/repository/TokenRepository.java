@@ -2,9 +2,14 @@ package com.arushr.rentreturn.repository;
 
 import com.arushr.rentreturn.model.Token;
 import com.arushr.rentreturn.model.User;
+import jakarta.transaction.Transactional;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,7 +20,16 @@ public interface TokenRepository extends JpaRepository<Token, Long> {
 
     List<Token> findAllByUserAndRevokedFalseAndExpiredFalse(User user);
 
-    Optional<Token> findByToken(String token);
+    Optional<Token> findByTokenHash(String tokenHash);
 
     List<Token> findAllValidTokensByUserId(Long userId);
+
+    List<Token> findAllByRevokedTrueAndUpdatedAtAfter(LocalDateTime since);
+
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM tokens WHERE id IN "
+            + "(SELECT id FROM tokens WHERE expires_at < :cutoff ORDER BY id LIMIT :batchSize)",
+            nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") LocalDateTime cutoff, @Param("batchSize") int batchSize);
 }
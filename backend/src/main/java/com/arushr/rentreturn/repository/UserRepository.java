@@ -2,6 +2,8 @@ package com.arushr.rentreturn.repository;
 
 import com.arushr.rentreturn.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -42,4 +44,15 @@ public interface UserRepository extends JpaRepository<User, Long> {
     long countByRole(String role);
 
     Optional<User> findByUsername(String username);
+
+    @Query("SELECT u FROM User u WHERE u.email = :identifier OR u.username = :identifier OR u.phone = :identifier")
+    List<User> findAllByIdentifier(@Param("identifier") String identifier);
+
+    interface TokenVersionView {
+        Long getId();
+        int getTokenVersion();
+    }
+
+    @Query("SELECT u.id AS id, u.tokenVersion AS tokenVersion FROM User u WHERE u.tokenVersion > 0")
+    List<TokenVersionView> findAllTokenVersions();
 }
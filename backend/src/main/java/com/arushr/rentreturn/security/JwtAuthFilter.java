@@ -1,32 +1,34 @@
 package com.arushr.rentreturn.security;
 
-import com.arushr.rentreturn.config.JwtService;
-import com.arushr.rentreturn.model.User;
-import com.arushr.rentreturn.repository.TokenRepository;
-import com.arushr.rentreturn.service.UserService;
+import com.arushr.rentreturn.util.HashUtils;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails; // add this import
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class JwtAuthFilter extends OncePerRequestFilter {
 
-    private final JwtService jwtService;
-    private final UserService userService;
-    private final TokenRepository tokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenRevocationIndex tokenRevocationIndex;
+    private final TokenVersionRegistry tokenVersionRegistry;
+
+    @Value("${auth.stateless.enabled:false}")
+    private boolean statelessMode;
 
     @Override
     protected void doFilterInternal(
@@ -37,6 +39,8 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final String tokenDigest;
+        final JwtPrincipal principal;
         final String username;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -45,27 +49,43 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7);
+        tokenDigest = HashUtils.sha256Hex(jwt);
         try {
-            username = jwtService.extractUsername(jwt);
+            principal = verifiedTokenCache.verify(jwt, tokenDigest);
         } catch (Exception e) {
             filterChain.doFilter(request, response);
             return;
         }
+        username = principal.getSubject();
 
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails user; // use UserDetails for compatibility with Spring Security
-            try {
-                user = userService.loadUserByUsername(username);
-            } catch (Exception e) {
-                filterChain.doFilter(request, response);
-                return;
+            UserPrincipal user;
+            if (statelessMode) {
+                // Trust the signed claims; only the token version is checked.
+                if (!tokenVersionRegistry.isCurrent(principal.getUserId(), principal.getTokenVersion())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                user = UserPrincipal.fromToken(principal);
+            } else {
+                try {
+                    user = userPrincipalCache.get(username);
+                } catch (Exception e) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
+                if (!username.equals(user.getUsername())) {
+                    filterChain.doFilter(request, response);
+                    return;
+                }
             }
 
-            boolean isTokenValid = tokenRepository.findByToken(jwt)
-                    .map(t -> !t.isExpired() && !t.isRevoked())
-                    .orElse(false);
+            boolean isTokenValid = !tokenRevocationIndex.isRevoked(tokenDigest);
 
-            if (jwtService.isTokenValid(jwt, user) && isTokenValid) {
+            if (user.isEnabled()
+                    && user.isAccountNonLocked()
+                    && !principal.isExpired(Instant.now())
+                    && isTokenValid) {
                 var authToken = new UsernamePasswordAuthenticationToken(
                         user, null, user.getAuthorities()
                 );
@@ -0,0 +1,23 @@
+package com.arushr.rentreturn.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * Immutable snapshot of the claims of a verified JWT.
+ */
+@Value
+public class JwtPrincipal {
+
+    String subject;
+    Long userId;
+    String email;
+    String role;
+    Integer tokenVersion;
+    Instant expiresAt;
+
+    public boolean isExpired(Instant now) {
+        return !expiresAt.isAfter(now);
+    }
+}
@@ -0,0 +1,64 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.repository.TokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Deletes token rows whose JWT has expired, in bounded batches so a large
+ * backlog never holds long locks on the tokens table. Revoked rows are kept
+ * until they expire because they are what other instances poll for revocations.
+ */
+@Component
+@Slf4j
+public class TokenPurgeJob {
+
+    private final TokenRepository tokenRepository;
+    private final int batchSize;
+    private final int maxBatches;
+    private final AtomicLong tableSize = new AtomicLong();
+    private final Counter purgedCounter;
+
+    public TokenPurgeJob(
+            TokenRepository tokenRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.tokens.purge-batch-size:1000}") int batchSize,
+            @Value("${auth.tokens.purge-max-batches:100}") int maxBatches
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.purgedCounter = Counter.builder("auth.tokens.purged")
+                .description("Expired token rows deleted by the purge job")
+                .register(meterRegistry);
+        Gauge.builder("auth.tokens.table.size", tableSize, AtomicLong::get)
+                .description("Rows in the tokens table as of the last purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${auth.tokens.purge-cron:0 */15 * * * *}")
+    public void purgeExpiredTokens() {
+        LocalDateTime cutoff = LocalDateTime.now();
+        long purged = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            int deleted = tokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            purged += deleted;
+            if (deleted < batchSize) {
+                break;
+            }
+        }
+        purgedCounter.increment(purged);
+        tableSize.set(tokenRepository.count());
+        if (purged > 0) {
+            log.info("Purged {} expired tokens, {} remaining", purged, tableSize.get());
+        }
+    }
+}
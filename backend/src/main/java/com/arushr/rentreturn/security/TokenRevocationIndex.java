@@ -0,0 +1,133 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.config.JwtService;
+import com.arushr.rentreturn.model.Token;
+import com.arushr.rentreturn.repository.TokenRepository;
+import com.arushr.rentreturn.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory index of revoked tokens, keyed by the SHA-256 digest of the token.
+ * A Bloom filter sits in front of the exact set so the common "not revoked" case
+ * is answered from a few bit reads. Revocations made on other instances are
+ * picked up by polling the tokens table for recently revoked rows.
+ */
+@Component
+@Slf4j
+public class TokenRevocationIndex {
+
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Rows committed slightly after a poll may carry an updated_at older than the
+    // watermark, so every poll re-reads this window. Duplicates are harmless.
+    private static final Duration POLL_OVERLAP = Duration.ofSeconds(30);
+
+    private final TokenRepository tokenRepository;
+    private final Duration tokenLifetime;
+    private final int expectedRevocations;
+
+    private final Map<String, Instant> revokedUntil = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private volatile BloomFilter bloomFilter;
+    private volatile LocalDateTime watermark;
+
+    public TokenRevocationIndex(
+            TokenRepository tokenRepository,
+            JwtService jwtService,
+            @Value("${auth.revocation.expected-size:10000}") int expectedRevocations
+    ) {
+        this.tokenRepository = tokenRepository;
+        this.tokenLifetime = Duration.ofMillis(jwtService.getJwtExpiration());
+        this.expectedRevocations = expectedRevocations;
+        this.bloomFilter = new BloomFilter(expectedRevocations, FALSE_POSITIVE_RATE);
+    }
+
+    @PostConstruct
+    public void init() {
+        // Tokens issued before this point have expired, so their revocation no longer matters.
+        this.watermark = LocalDateTime.now().minus(tokenLifetime);
+        pollRevocations();
+    }
+
+    public boolean isRevoked(String tokenDigest) {
+        if (!bloomFilter.mightContain(tokenDigest)) {
+            return false;
+        }
+        Instant until = revokedUntil.get(tokenDigest);
+        return until != null && until.isAfter(Instant.now());
+    }
+
+    public void revoke(Token token) {
+        add(token.getTokenHash(), token.getExpiresAt());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${auth.revocation.poll-interval-ms:5000}",
+            initialDelayString = "${auth.revocation.poll-interval-ms:5000}"
+    )
+    public void pollRevocations() {
+        LocalDateTime since = watermark.minus(POLL_OVERLAP);
+        List<Token> tokens = tokenRepository.findAllByRevokedTrueAndUpdatedAtAfter(since);
+        LocalDateTime latest = watermark;
+        for (Token token : tokens) {
+            add(token.getTokenHash(), token.getExpiresAt());
+            if (token.getUpdatedAt() != null && token.getUpdatedAt().isAfter(latest)) {
+                latest = token.getUpdatedAt();
+            }
+        }
+        watermark = latest;
+        if (!tokens.isEmpty()) {
+            log.debug("Loaded {} revoked tokens, index size {}", tokens.size(), revokedUntil.size());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${auth.revocation.purge-interval-ms:600000}")
+    public void purgeExpired() {
+        Instant now = Instant.now();
+        if (revokedUntil.values().removeIf(until -> !until.isAfter(now))) {
+            synchronized (writeLock) {
+                rebuildBloomFilter();
+            }
+        }
+    }
+
+    public int size() {
+        return revokedUntil.size();
+    }
+
+    private void add(String tokenDigest, LocalDateTime expiresAt) {
+        Instant until = expiresAt != null
+                ? expiresAt.atZone(ZoneId.systemDefault()).toInstant()
+                : Instant.now().plus(tokenLifetime);
+        if (!until.isAfter(Instant.now())) {
+            return;
+        }
+        synchronized (writeLock) {
+            revokedUntil.put(tokenDigest, until);
+            if (revokedUntil.size() > bloomFilter.getCapacity()) {
+                rebuildBloomFilter();
+            } else {
+                bloomFilter.put(tokenDigest);
+            }
+        }
+    }
+
+    private void rebuildBloomFilter() {
+        BloomFilter rebuilt = new BloomFilter(
+                Math.max(expectedRevocations, revokedUntil.size() * 2), FALSE_POSITIVE_RATE);
+        revokedUntil.keySet().forEach(rebuilt::put);
+        bloomFilter = rebuilt;
+    }
+}
@@ -0,0 +1,56 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Current token version per user for stateless token mode. Only users whose
+ * version has ever been bumped are tracked, so the map stays small; everyone
+ * else is implicitly at version 0. Versions only grow, so merges keep the max.
+ */
+@Component
+@Slf4j
+public class TokenVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public TokenVersionRegistry(
+            UserRepository userRepository,
+            @Value("${auth.stateless.enabled:false}") boolean enabled
+    ) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isCurrent(Long userId, Integer tokenVersion) {
+        if (userId == null || tokenVersion == null) {
+            return false;
+        }
+        return tokenVersion >= versions.getOrDefault(userId, 0);
+    }
+
+    public void record(Long userId, int tokenVersion) {
+        versions.merge(userId, tokenVersion, Math::max);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${auth.stateless.version-refresh-ms:10000}",
+            initialDelay = 0
+    )
+    public void refresh() {
+        if (!enabled) {
+            return;
+        }
+        userRepository.findAllTokenVersions()
+                .forEach(v -> record(v.getId(), v.getTokenVersion()));
+        log.debug("Token version registry holds {} users", versions.size());
+    }
+}
@@ -0,0 +1,80 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.enums.Role;
+import com.arushr.rentreturn.model.User;
+import lombok.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lightweight, immutable view of an authenticated user. Unlike the entity it
+ * carries no password hash, so it is safe to keep in memory between requests.
+ */
+@Value
+public class UserPrincipal implements UserDetails {
+
+    private static final Map<Role, List<GrantedAuthority>> AUTHORITIES = new EnumMap<>(Role.class);
+
+    static {
+        for (Role role : Role.values()) {
+            AUTHORITIES.put(role, List.of(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        }
+    }
+
+    Long id;
+    String email;
+    Role role;
+    boolean enabled;
+    boolean blocked;
+    List<GrantedAuthority> authorities;
+
+    public static UserPrincipal from(User user) {
+        Role role = user.getRole() != null ? user.getRole() : Role.USER;
+        return new UserPrincipal(
+                user.getId(),
+                user.getEmail(),
+                role,
+                user.isEnabled() && !user.isDeleted(),
+                user.isBlocked(),
+                AUTHORITIES.get(role)
+        );
+    }
+
+    /**
+     * Builds a principal purely from signed token claims, for stateless token mode.
+     */
+    public static UserPrincipal fromToken(JwtPrincipal token) {
+        Role role = token.getRole() != null ? Role.valueOf(token.getRole()) : Role.USER;
+        return new UserPrincipal(token.getUserId(), token.getEmail(), role, true, false, AUTHORITIES.get(role));
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return !blocked;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+}
@@ -0,0 +1,52 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Bounded, TTL-based cache of {@link UserPrincipal} snapshots keyed by email.
+ * Entries are invalidated explicitly whenever a user's account state changes.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final LoadingCache<String, UserPrincipal> cache;
+
+    public UserPrincipalCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${auth.principal-cache.max-size:10000}") long maxSize,
+            @Value("${auth.principal-cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build(email -> userRepository.findByEmail(email)
+                        .map(UserPrincipal::from)
+                        .orElse(null));
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "users.principal");
+    }
+
+    public UserPrincipal get(String email) {
+        UserPrincipal principal = cache.get(email);
+        if (principal == null) {
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        return principal;
+    }
+
+    public void invalidate(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
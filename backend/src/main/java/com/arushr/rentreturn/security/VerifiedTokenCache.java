@@ -0,0 +1,75 @@
+package com.arushr.rentreturn.security;
+
+import com.arushr.rentreturn.config.JwtService;
+import com.arushr.rentreturn.util.HashUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Bounded cache of verified JWTs keyed by the SHA-256 digest of the token.
+ * Each entry lives until the token's own expiration, so a token is parsed and
+ * signature-checked once instead of on every request.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private final JwtService jwtService;
+    private final Cache<String, JwtPrincipal> cache;
+
+    public VerifiedTokenCache(
+            JwtService jwtService,
+            MeterRegistry meterRegistry,
+            @Value("${jwt.cache.max-size:10000}") long maxSize
+    ) {
+        this.jwtService = jwtService;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAtTokenExpiry())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "jwt.verified");
+    }
+
+    /**
+     * Returns the verified principal for the token, parsing it only on a cache miss.
+     *
+     * @throws com.arushr.rentreturn.exception.UnauthorizedException if the token is invalid
+     */
+    public JwtPrincipal verify(String token) {
+        return verify(token, HashUtils.sha256Hex(token));
+    }
+
+    public JwtPrincipal verify(String token, String tokenDigest) {
+        return cache.get(tokenDigest, key -> jwtService.verify(token));
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(HashUtils.sha256Hex(token));
+    }
+
+    private static final class ExpireAtTokenExpiry implements Expiry<String, JwtPrincipal> {
+
+        @Override
+        public long expireAfterCreate(String key, JwtPrincipal value, long currentTime) {
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiresAt()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, JwtPrincipal value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
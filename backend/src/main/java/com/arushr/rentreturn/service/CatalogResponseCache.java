@@ -0,0 +1,137 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Already-serialized JSON for the hottest public catalog payloads, optionally
+ * with a pre-gzipped copy, written straight to the response. Each entry
+ * remembers which products it contains, so a product change drops only the
+ * entries it can affect; they are rebuilt on the next request.
+ */
+@Component
+public class CatalogResponseCache {
+
+    private static final String PRODUCT = "product:";
+    private static final String AVAILABLE = "available:";
+    private static final String CATEGORY = "category:";
+
+    private final ObjectMapper objectMapper;
+    private final Cache<String, Payload> cache;
+    private final int gzipMinBytes;
+
+    public CatalogResponseCache(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${catalog.response-cache.max-entries:5000}") long maxEntries,
+            @Value("${catalog.response-cache.ttl-seconds:60}") long ttlSeconds,
+            @Value("${catalog.response-cache.gzip-min-bytes:1024}") int gzipMinBytes
+    ) {
+        this.objectMapper = objectMapper;
+        this.gzipMinBytes = gzipMinBytes;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "products.responses");
+    }
+
+    public static String productKey(Long id) {
+        return PRODUCT + id;
+    }
+
+    public static String availableKey(String variant) {
+        return AVAILABLE + variant;
+    }
+
+    public static String categoryKey(String category, String variant) {
+        return CATEGORY + category.toLowerCase(Locale.ROOT) + ":" + variant;
+    }
+
+    /**
+     * Serves the cached bytes for {@code key}, loading and serializing the body
+     * on a miss. {@code productIds} names the products the body contains.
+     */
+    public <T> ResponseEntity<byte[]> respond(String key, String acceptEncoding,
+                                              Supplier<T> loader, Function<T, Collection<Long>> productIds) {
+        Payload payload = cache.get(key, k -> {
+            T body = loader.get();
+            return serialize(body, Set.copyOf(productIds.apply(body)));
+        });
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (payload.gzip != null && acceptEncoding != null && acceptEncoding.contains("gzip")) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(payload.gzip);
+        }
+        return response.body(payload.json);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long id = event.getProductId();
+        String category = event.getCategory() == null ? null
+                : CATEGORY + event.getCategory().toLowerCase(Locale.ROOT) + ":";
+        cache.asMap().entrySet().removeIf(entry -> {
+            String key = entry.getKey();
+            return entry.getValue().productIds.contains(id)
+                    || key.equals(PRODUCT + id)
+                    || (event.isAvailable() && key.startsWith(AVAILABLE))
+                    || (category != null && key.startsWith(category));
+        });
+    }
+
+    private Payload serialize(Object body, Set<Long> productIds) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Payload(json, json.length >= gzipMinBytes ? gzip(json) : null, productIds);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static final class Payload {
+        final byte[] json;
+        final byte[] gzip;
+        final Set<Long> productIds;
+
+        Payload(byte[] json, byte[] gzip, Set<Long> productIds) {
+            this.json = json;
+            this.gzip = gzip;
+            this.productIds = productIds;
+        }
+    }
+}
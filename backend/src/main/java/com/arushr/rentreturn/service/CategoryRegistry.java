@@ -0,0 +1,143 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.dto.product.CategoryDTO;
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.arushr.rentreturn.exception.ValidationException;
+import com.arushr.rentreturn.model.Category;
+import com.arushr.rentreturn.repository.CategoryRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory dictionary of categories, so request paths resolve a category
+ * name to its integer id without touching the database. Unknown names fall
+ * through to one indexed lookup, which also picks up categories created on
+ * other nodes. Per-category live product counts are cached until the next
+ * product change.
+ */
+@Component
+@Slf4j
+public class CategoryRegistry {
+
+    private static final String ALL = "all";
+
+    private final CategoryRepository categoryRepository;
+    private final Map<String, Category> byName = new ConcurrentHashMap<>();
+    private final Map<Integer, Category> byId = new ConcurrentHashMap<>();
+    private final Cache<String, Map<Integer, Long>> counts;
+
+    public CategoryRegistry(
+            CategoryRepository categoryRepository,
+            @Value("${catalog.categories.count-ttl-seconds:60}") long countTtlSeconds
+    ) {
+        this.categoryRepository = categoryRepository;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofSeconds(countTtlSeconds))
+                .build();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        reload();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${catalog.categories.reload-interval-ms:300000}",
+            initialDelayString = "${catalog.categories.reload-interval-ms:300000}"
+    )
+    public void reload() {
+        categoryRepository.findAll().forEach(this::put);
+        log.debug("Category registry holds {} categories", byId.size());
+    }
+
+    public Optional<Category> find(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            return Optional.empty();
+        }
+        Category category = byName.get(key);
+        if (category != null) {
+            return Optional.of(category);
+        }
+        Optional<Category> loaded = categoryRepository.findByNormalizedName(key);
+        loaded.ifPresent(this::remember);
+        return loaded;
+    }
+
+    public Optional<Integer> findId(String name) {
+        return find(name).map(Category::getId);
+    }
+
+    /** Must run inside the caller's transaction; a new category becomes visible to others on commit. */
+    public Category resolveOrCreate(String name) {
+        String key = normalize(name);
+        if (key.isEmpty()) {
+            throw new ValidationException("Category is required");
+        }
+        return find(key).orElseGet(() -> {
+            categoryRepository.insertIfAbsent(name.trim(), key);
+            Category created = categoryRepository.findByNormalizedName(key)
+                    .orElseThrow(() -> new IllegalStateException("Category was not created: " + key));
+            remember(created);
+            return created;
+        });
+    }
+
+    public List<CategoryDTO> listWithCounts() {
+        Map<Integer, Long> productCounts = counts.get(ALL, key -> categoryRepository.countLiveProductsByCategory()
+                .stream()
+                .collect(Collectors.toMap(CategoryRepository.CategoryCountView::getCategoryId,
+                        CategoryRepository.CategoryCountView::getProductCount)));
+        return byId.values().stream()
+                .sorted(Comparator.comparing(Category::getName, String.CASE_INSENSITIVE_ORDER))
+                .map(c -> new CategoryDTO(c.getId(), c.getName(), productCounts.getOrDefault(c.getId(), 0L)))
+                .toList();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        counts.invalidateAll();
+    }
+
+    static String normalize(String name) {
+        return name == null ? "" : name.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /** Rows read inside a transaction may still roll back; only publish them once committed. */
+    private void remember(Category category) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    put(category);
+                }
+            });
+        } else {
+            put(category);
+        }
+    }
+
+    private void put(Category category) {
+        byName.put(category.getNormalizedName(), category);
+        byId.put(category.getId(), category);
+    }
+}
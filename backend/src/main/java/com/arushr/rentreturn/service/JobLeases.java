@@ -0,0 +1,57 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.model.JobLease;
+import com.arushr.rentreturn.repository.JobLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Time-bounded, database-backed leases that keep a scheduled job on a single
+ * node. A node that dies simply stops renewing and another takes over once
+ * the lease runs out.
+ */
+@Component
+@Slf4j
+public class JobLeases {
+
+    private final JobLeaseRepository jobLeaseRepository;
+    private final String owner = UUID.randomUUID().toString();
+
+    public JobLeases(JobLeaseRepository jobLeaseRepository) {
+        this.jobLeaseRepository = jobLeaseRepository;
+    }
+
+    public boolean tryAcquire(String name, Duration lease) {
+        try {
+            jobLeaseRepository.createIfAbsent(name);
+            LocalDateTime now = LocalDateTime.now();
+            return jobLeaseRepository.tryAcquire(name, owner, now, now.plus(lease)) > 0;
+        } catch (DataAccessException e) {
+            log.warn("Could not acquire job lease {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    public void release(String name) {
+        try {
+            jobLeaseRepository.release(name, owner, LocalDateTime.now());
+        } catch (DataAccessException e) {
+            log.warn("Could not release job lease {}: {}", name, e.getMessage());
+        }
+    }
+
+    public Optional<LocalDateTime> getHighWaterMark(String name) {
+        return jobLeaseRepository.findById(name).map(JobLease::getHighWaterMark);
+    }
+
+    /** Records progress; ignored unless this node still holds the lease. */
+    public boolean advanceHighWaterMark(String name, LocalDateTime mark) {
+        return jobLeaseRepository.advanceHighWaterMark(name, owner, mark) > 0;
+    }
+}
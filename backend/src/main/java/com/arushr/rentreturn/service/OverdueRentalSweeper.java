@@ -0,0 +1,114 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.enums.RentalStatus;
+import com.arushr.rentreturn.event.RentalOverdueEvent;
+import com.arushr.rentreturn.repository.RentalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves outstanding rentals past their end date to OVERDUE. Each run walks
+ * rental_end from the stored high-water mark up to now in bounded batches,
+ * one transaction per batch, and publishes a {@link RentalOverdueEvent} per
+ * rental. Marked rows leave the partial index the walk reads from, so every
+ * batch starts where the previous one ended. A job lease keeps the sweep on
+ * one node.
+ */
+@Component
+@Slf4j
+public class OverdueRentalSweeper {
+
+    static final String JOB_NAME = "rental-overdue-sweep";
+
+    private static final List<RentalStatus> OUTSTANDING = List.of(RentalStatus.PENDING, RentalStatus.ACTIVE);
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private final RentalRepository rentalRepository;
+    private final JobLeases jobLeases;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Duration lease;
+    private final Counter markedCounter;
+
+    public OverdueRentalSweeper(
+            RentalRepository rentalRepository,
+            JobLeases jobLeases,
+            ApplicationEventPublisher eventPublisher,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${rental.overdue.batch-size:500}") int batchSize,
+            @Value("${rental.overdue.max-batches:200}") int maxBatches,
+            @Value("${rental.overdue.lease-seconds:300}") long leaseSeconds
+    ) {
+        this.rentalRepository = rentalRepository;
+        this.jobLeases = jobLeases;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.markedCounter = Counter.builder("rentals.overdue.marked")
+                .description("Rentals moved to OVERDUE by the sweeper")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${rental.overdue.sweep-interval-ms:60000}",
+            initialDelayString = "${rental.overdue.sweep-interval-ms:60000}")
+    public void sweep() {
+        if (!jobLeases.tryAcquire(JOB_NAME, lease)) {
+            return;
+        }
+        try {
+            LocalDateTime from = jobLeases.getHighWaterMark(JOB_NAME).orElse(BEGINNING);
+            LocalDateTime to = LocalDateTime.now();
+            long marked = 0;
+            boolean drained = false;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                Integer count = transactionTemplate.execute(status -> markBatch(from, to));
+                int updated = count == null ? 0 : count;
+                marked += updated;
+                if (updated < batchSize) {
+                    drained = true;
+                    break;
+                }
+            }
+            // A partial run keeps the old mark; rows already marked no longer match
+            if (drained) {
+                jobLeases.advanceHighWaterMark(JOB_NAME, to);
+            }
+            markedCounter.increment(marked);
+            if (marked > 0) {
+                log.info("Marked {} rentals overdue (ended up to {})", marked, to);
+            }
+        } finally {
+            jobLeases.release(JOB_NAME);
+        }
+    }
+
+    private int markBatch(LocalDateTime from, LocalDateTime to) {
+        List<RentalRepository.DueView> due = rentalRepository.lockDueBetween(OUTSTANDING, from, to, Limit.of(batchSize));
+        if (due.isEmpty()) {
+            return 0;
+        }
+        List<Long> ids = due.stream().map(RentalRepository.DueView::getId).toList();
+        rentalRepository.updateStatus(ids, RentalStatus.OVERDUE, LocalDateTime.now());
+        for (RentalRepository.DueView rental : due) {
+            eventPublisher.publishEvent(new RentalOverdueEvent(
+                    rental.getId(), rental.getProductId(), rental.getUserId(), rental.getRentalEnd()));
+        }
+        return due.size();
+    }
+}
@@ -129,7 +129,7 @@ public class PaymentServiceImpl implements PaymentService {
 
     @Override
     public List<Payment> findByDateRange(java.time.LocalDateTime start, java.time.LocalDateTime end) {
-        return paymentRepository.findByCreatedAtBetween(start, end);
+        return paymentRepository.findByPaidAtBetween(start, end);
     }
 
     @Override
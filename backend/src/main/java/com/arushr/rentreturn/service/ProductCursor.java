@@ -0,0 +1,93 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.enums.ProductSort;
+import com.arushr.rentreturn.exception.ValidationException;
+import com.arushr.rentreturn.model.Product;
+import org.springframework.data.domain.ScrollPosition;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Opaque keyset cursor: the sort, the last row's sort value and its id,
+ * base64url-encoded. Clients must treat it as a token and pass it back as is.
+ */
+final class ProductCursor {
+
+    private static final char SEPARATOR = '|';
+    private static final String CHANGES = "CHANGES";
+
+    private ProductCursor() {
+    }
+
+    static String encode(ProductSort sort, Product last) {
+        Object value = switch (sort) {
+            case NEWEST, OLDEST -> last.getCreatedAt();
+            case PRICE_ASC, PRICE_DESC -> last.getPricePerDay();
+        };
+        return encode(sort.name() + SEPARATOR + value + SEPARATOR + last.getId());
+    }
+
+    /** Delta-sync cursors are keyed on (updatedAt, id) over every product. */
+    static String encodeChange(Product last) {
+        return encode(CHANGES + SEPARATOR + last.getUpdatedAt() + SEPARATOR + last.getId());
+    }
+
+    static ScrollPosition decodeChange(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = decodeParts(cursor);
+            if (!CHANGES.equals(parts[0])) {
+                throw new ValidationException("Not a change cursor");
+            }
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put("updatedAt", LocalDateTime.parse(parts[1]));
+            keys.put("id", Long.parseLong(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    static ScrollPosition decode(ProductSort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = decodeParts(cursor);
+            if (!sort.name().equals(parts[0])) {
+                throw new ValidationException("Cursor does not match the requested sort");
+            }
+            Object value = switch (sort) {
+                case NEWEST, OLDEST -> LocalDateTime.parse(parts[1]);
+                case PRICE_ASC, PRICE_DESC -> new BigDecimal(parts[1]);
+            };
+            Map<String, Object> keys = new LinkedHashMap<>();
+            keys.put(sort.getProperty(), value);
+            keys.put("id", Long.parseLong(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeException e) {
+            throw new ValidationException("Invalid cursor");
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeParts(String cursor) {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3) {
+            throw new ValidationException("Invalid cursor");
+        }
+        return parts;
+    }
+}
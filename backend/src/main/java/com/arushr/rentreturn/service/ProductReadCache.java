@@ -0,0 +1,136 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.dto.product.CatalogVersion;
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.arushr.rentreturn.model.Product;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Bounded, TTL-based caches for the hot catalog reads. Entries are evicted
+ * after a product change commits, touching only the entries that could hold
+ * that product; the TTL bounds staleness from writes made on other nodes.
+ *
+ * <p>Cached products are never handed out: every read returns fresh copies,
+ * so one caller's changes cannot leak into what the next caller sees. Code
+ * that decides on stock or availability should still read the database.
+ */
+@Component
+public class ProductReadCache {
+
+    private static final String ALL = "all";
+
+    private final Cache<Long, Product> byId;
+    private final Cache<String, List<Product>> byCategory;
+    private final Cache<String, List<Product>> available;
+    private final Cache<String, Long> availableCount;
+    private final Cache<String, CatalogVersion> catalogVersion;
+
+    public ProductReadCache(
+            MeterRegistry meterRegistry,
+            @Value("${catalog.cache.max-size:10000}") long maxSize,
+            @Value("${catalog.cache.ttl-seconds:60}") long ttlSeconds
+    ) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.byId = build(maxSize, ttl);
+        this.byCategory = build(Math.max(1, maxSize / 100), ttl);
+        this.available = build(1, ttl);
+        this.availableCount = build(1, ttl);
+        this.catalogVersion = build(1, ttl);
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "products.by_id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byCategory, "products.by_category");
+        CaffeineCacheMetrics.monitor(meterRegistry, available, "products.available");
+        CaffeineCacheMetrics.monitor(meterRegistry, availableCount, "products.available_count");
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogVersion, "products.catalog_version");
+    }
+
+    private static <K, V> Cache<K, V> build(long maxSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    /** Missing products are not cached, so a create is visible immediately. */
+    public Optional<Product> getById(Long id, Function<Long, Optional<Product>> loader) {
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null))).map(ProductReadCache::copy);
+    }
+
+    /** Resolves cache misses with one call to the loader; missing ids are left out of the result. */
+    public Map<Long, Product> getAllById(Set<Long> ids, Function<Set<Long>, Map<Long, Product>> loader) {
+        return byId.getAll(ids, missing -> loader.apply(Set.copyOf(missing))).entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> copy(entry.getValue())));
+    }
+
+    public List<Product> getByCategory(String category, Function<String, List<Product>> loader) {
+        return copy(byCategory.get(category.toLowerCase(Locale.ROOT), key -> List.copyOf(loader.apply(category))));
+    }
+
+    public List<Product> getAvailable(Supplier<List<Product>> loader) {
+        return copy(available.get(ALL, key -> List.copyOf(loader.get())));
+    }
+
+    public long getAvailableCount(Supplier<Long> loader) {
+        return availableCount.get(ALL, key -> loader.get());
+    }
+
+    public CatalogVersion getCatalogVersion(Supplier<CatalogVersion> loader) {
+        return catalogVersion.get(ALL, key -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        Long id = event.getProductId();
+        byId.invalidate(id);
+        catalogVersion.invalidateAll();
+
+        if (event.getCategory() != null) {
+            byCategory.invalidate(event.getCategory().toLowerCase(Locale.ROOT));
+        }
+        // The previous category is not on the event; drop any list still holding the product
+        for (Map.Entry<String, List<Product>> entry : byCategory.asMap().entrySet()) {
+            if (contains(entry.getValue(), id)) {
+                byCategory.invalidate(entry.getKey());
+            }
+        }
+
+        List<Product> cachedAvailable = available.getIfPresent(ALL);
+        if (event.isAvailable() || (cachedAvailable != null && contains(cachedAvailable, id))) {
+            available.invalidateAll();
+            availableCount.invalidateAll();
+        } else if (cachedAvailable == null) {
+            availableCount.invalidateAll();
+        }
+    }
+
+    private static List<Product> copy(List<Product> products) {
+        return products.stream().map(ProductReadCache::copy).toList();
+    }
+
+    /** Loaders fetch the owner eagerly, so copying it never touches a lazy proxy. */
+    private static Product copy(Product product) {
+        return product.toBuilder()
+                .owner(product.getOwner() == null ? null : product.getOwner().toBuilder().build())
+                .build();
+    }
+
+    private static boolean contains(List<Product> products, Long id) {
+        return products.stream().anyMatch(p -> id.equals(p.getId()));
+    }
+}
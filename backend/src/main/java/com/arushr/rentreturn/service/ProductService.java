@@ -1,8 +1,18 @@
 package com.arushr.rentreturn.service;
 
 import com.arushr.rentreturn.model.Product;
+import com.arushr.rentreturn.dto.product.CatalogVersion;
+import com.arushr.rentreturn.dto.product.CategoryDTO;
+import com.arushr.rentreturn.dto.product.ProductBatchDTO;
+import com.arushr.rentreturn.dto.product.ProductChangesDTO;
 import com.arushr.rentreturn.dto.product.ProductDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterResultDTO;
+import com.arushr.rentreturn.dto.product.ProductPageDTO;
+import com.arushr.rentreturn.dto.product.ProductSearchResultDTO;
+import com.arushr.rentreturn.enums.ProductSort;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,10 +23,21 @@ public interface ProductService {
 
     Optional<Product> findById(Long id);
 
+    ProductBatchDTO findBatch(List<Long> ids);
+
     List<Product> findAll();
 
     List<Product> findAvailable();
 
+    ProductPageDTO findPage(ProductSort sort, String cursor, Integer limit, boolean availableOnly);
+
+    ProductChangesDTO findChanges(String since, Integer limit);
+
+    ProductSearchResultDTO findAvailableBetween(LocalDateTime start, LocalDateTime end, ProductFilterDTO filter,
+                                                int page, Integer size);
+
+    ProductFilterResultDTO filter(ProductFilterDTO filter, ProductSort sort, String cursor, Integer limit);
+
     Product updateProduct(Long id, Product updatedProduct);
     Product updateProduct(Long id, ProductDTO productDTO);
 
@@ -24,8 +45,12 @@ public interface ProductService {
 
     List<Product> findByCategory(String category);
 
+    List<CategoryDTO> findCategories();
+
     List<Product> searchByName(String keyword);
 
+    ProductSearchResultDTO search(String query, String category, int page, Integer size);
+
     List<Product> findByOwner(Long ownerId);
 
     List<Product> findAllByDeleted(boolean deleted);
@@ -34,5 +59,7 @@ public interface ProductService {
 
     long countAvailable();
 
+    CatalogVersion getCatalogVersion();
+
     Product updateAvailability(Long id, boolean available);
 }
@@ -1,14 +1,43 @@
 package com.arushr.rentreturn.service;
 
+import com.arushr.rentreturn.model.Category;
 import com.arushr.rentreturn.model.Product;
 import com.arushr.rentreturn.repository.ProductRepository;
+import com.arushr.rentreturn.repository.ProductSpecifications;
+import com.arushr.rentreturn.dto.product.CatalogVersion;
+import com.arushr.rentreturn.dto.product.CategoryDTO;
+import com.arushr.rentreturn.dto.product.ProductBatchDTO;
+import com.arushr.rentreturn.dto.product.ProductChangesDTO;
 import com.arushr.rentreturn.dto.product.ProductDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterDTO;
+import com.arushr.rentreturn.dto.product.ProductFilterResultDTO;
+import com.arushr.rentreturn.dto.product.ProductPageDTO;
+import com.arushr.rentreturn.dto.product.ProductSearchResultDTO;
+import com.arushr.rentreturn.enums.ProductSort;
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.arushr.rentreturn.exception.ValidationException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -16,15 +45,60 @@ import java.util.Optional;
 public class ProductServiceImpl implements ProductService {
 
     private final ProductRepository productRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ProductReadCache productReadCache;
+    private final CategoryRegistry categoryRegistry;
+
+    @Value("${catalog.page.default-size:20}")
+    private int defaultPageSize;
+
+    @Value("${catalog.page.max-size:100}")
+    private int maxPageSize;
+
+    @Value("${catalog.batch.max-ids:100}")
+    private int maxBatchIds;
+
+    @Value("${catalog.available-between.max-window-days:90}")
+    private int maxWindowDays;
+
+    @Value("${catalog.changes.max-size:500}")
+    private int maxChangesSize;
+
+    @Value("${catalog.changes.settle-seconds:5}")
+    private long changesSettleSeconds;
+
+    @Value("${catalog.facets.price-bounds:10,25,50,100,250}")
+    private List<BigDecimal> priceBounds;
 
     @Override
     public Product create(Product product) {
-        return productRepository.save(product);
+        applyCategory(product);
+        return publishChange(productRepository.save(product));
     }
 
     @Override
     public Optional<Product> findById(Long id) {
-        return productRepository.findById(id).filter(p -> !p.isDeleted());
+        return productReadCache.getById(id, productRepository::findWithOwnerByIdAndDeletedFalse);
+    }
+
+    @Override
+    public ProductBatchDTO findBatch(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return new ProductBatchDTO(List.of());
+        }
+        if (ids.size() > maxBatchIds) {
+            throw new ValidationException("At most " + maxBatchIds + " ids can be requested at once");
+        }
+        Set<Long> distinct = ids.stream().filter(id -> id != null).collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Long, Product> found = productReadCache.getAllById(distinct, missing ->
+                productRepository.findWithOwnerByIdInAndDeletedFalse(missing).stream()
+                        .collect(Collectors.toMap(Product::getId, Function.identity())));
+        return new ProductBatchDTO(ids.stream()
+                .map(id -> {
+                    Product product = id == null ? null : found.get(id);
+                    return new ProductBatchDTO.Item(id, product != null, product);
+                })
+                .toList());
     }
 
     @Override
@@ -34,7 +108,105 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public List<Product> findAvailable() {
-        return productRepository.findAllByAvailableTrueAndDeletedFalse();
+        return productReadCache.getAvailable(productRepository::findAllByAvailableTrueAndDeletedFalse);
+    }
+
+    @Override
+    public ProductPageDTO findPage(ProductSort sort, String cursor, Integer limit, boolean availableOnly) {
+        int size = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        ScrollPosition position = ProductCursor.decode(sort, cursor);
+        Window<Product> window = availableOnly
+                ? productRepository.findByAvailableTrueAndDeletedFalse(position, sort.toSort(), Limit.of(size))
+                : productRepository.findByDeletedFalse(position, sort.toSort(), Limit.of(size));
+
+        List<Product> items = window.getContent();
+        String nextCursor = window.hasNext() && !items.isEmpty()
+                ? ProductCursor.encode(sort, items.get(items.size() - 1))
+                : null;
+        return ProductPageDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .size(items.size())
+                .build();
+    }
+
+    @Override
+    public ProductSearchResultDTO findAvailableBetween(LocalDateTime start, LocalDateTime end, ProductFilterDTO filter,
+                                                       int page, Integer size) {
+        if (start == null || end == null || !end.isAfter(start)) {
+            throw new ValidationException("end must be after start");
+        }
+        if (end.isAfter(start.plusDays(maxWindowDays))) {
+            throw new ValidationException("The date window can span at most " + maxWindowDays + " days");
+        }
+        Integer categoryId = null;
+        if (filter.getCategory() != null) {
+            categoryId = categoryRegistry.findId(filter.getCategory()).orElse(null);
+            if (categoryId == null) {
+                return ProductSearchResultDTO.builder().items(List.of()).page(Math.max(page, 0)).build();
+            }
+        }
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Slice<Product> slice = productRepository.findAvailableBetween(start, end, categoryId,
+                filter.getMinPrice(), filter.getMaxPrice(), PageRequest.of(Math.max(page, 0), pageSize));
+        return ProductSearchResultDTO.builder()
+                .items(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getNumberOfElements())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+
+    /**
+     * Rows modified in the last few seconds are held back: a transaction that
+     * commits late could otherwise land behind a cursor a client already holds.
+     */
+    @Override
+    public ProductChangesDTO findChanges(String since, Integer limit) {
+        int size = limit == null ? maxChangesSize : Math.max(1, Math.min(limit, maxChangesSize));
+        ScrollPosition position = ProductCursor.decodeChange(since);
+        LocalDateTime cutoff = LocalDateTime.now().minusSeconds(changesSettleSeconds);
+        Window<Product> window = productRepository.findBy(ProductSpecifications.modifiedUpTo(cutoff),
+                query -> query.sortBy(Sort.by("updatedAt", "id")).limit(size).scroll(position));
+
+        List<Product> changes = window.getContent();
+        String nextCursor = changes.isEmpty()
+                ? since
+                : ProductCursor.encodeChange(changes.get(changes.size() - 1));
+        return ProductChangesDTO.builder()
+                .changes(changes)
+                .nextCursor(nextCursor == null ? "" : nextCursor)
+                .hasMore(window.hasNext())
+                .build();
+    }
+
+    @Override
+    public ProductFilterResultDTO filter(ProductFilterDTO filter, ProductSort sort, String cursor, Integer limit) {
+        if (filter.getMinPrice() != null && filter.getMaxPrice() != null
+                && filter.getMinPrice().compareTo(filter.getMaxPrice()) > 0) {
+            throw new ValidationException("minPrice must not exceed maxPrice");
+        }
+        if (filter.getCategory() != null) {
+            // An unknown category matches nothing
+            filter.setCategoryId(categoryRegistry.findId(filter.getCategory()).orElse(-1));
+        }
+        int size = limit == null ? defaultPageSize : Math.max(1, Math.min(limit, maxPageSize));
+        ScrollPosition position = ProductCursor.decode(sort, cursor);
+        Window<Product> window = productRepository.findBy(ProductSpecifications.matching(filter),
+                query -> query.sortBy(sort.toSort()).limit(size).scroll(position));
+
+        List<Product> items = window.getContent();
+        String nextCursor = window.hasNext() && !items.isEmpty()
+                ? ProductCursor.encode(sort, items.get(items.size() - 1))
+                : null;
+        return ProductFilterResultDTO.builder()
+                .items(items)
+                .nextCursor(nextCursor)
+                .hasNext(nextCursor != null)
+                .size(items.size())
+                .facets(cursor == null ? productRepository.countFacets(filter, priceBounds) : null)
+                .build();
     }
 
     @Override
@@ -68,7 +240,8 @@ public class ProductServiceImpl implements ProductService {
                     product.setOwner(updatedProduct.getOwner());
                     product.setCreatedBy(updatedProduct.getCreatedBy());
                     product.setUpdatedBy(updatedProduct.getUpdatedBy());
-                    return productRepository.save(product);
+                    applyCategory(product);
+                    return publishChange(productRepository.save(product));
                 })
                 .orElseThrow(() -> new RuntimeException("Product not found"));
     }
@@ -95,18 +268,54 @@ public class ProductServiceImpl implements ProductService {
         productRepository.findById(id).ifPresent(product -> {
             product.setDeleted(true);
             product.setAvailable(false);
-            productRepository.save(product);
+            publishChange(productRepository.save(product));
         });
     }
 
     @Override
     public List<Product> findByCategory(String category) {
-        return productRepository.findByCategoryIgnoreCaseAndDeletedFalse(category);
+        return categoryRegistry.findId(category)
+                .map(categoryId -> productReadCache.getByCategory(category,
+                        name -> productRepository.findByCategoryIdAndDeletedFalse(categoryId)))
+                .orElse(List.of());
+    }
+
+    @Override
+    public List<CategoryDTO> findCategories() {
+        return categoryRegistry.listWithCounts();
     }
 
     @Override
     public List<Product> searchByName(String keyword) {
-        return productRepository.findByNameContainingIgnoreCaseAndDeletedFalse(keyword);
+        return search(keyword, null, 0, maxPageSize).getItems();
+    }
+
+    @Override
+    public ProductSearchResultDTO search(String query, String category, int page, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        Integer categoryId = null;
+        if (category != null && !category.isBlank()) {
+            categoryId = categoryRegistry.findId(category).orElse(null);
+            if (categoryId == null) {
+                return ProductSearchResultDTO.builder().items(List.of()).page(Math.max(page, 0)).build();
+            }
+        }
+        Slice<Product> slice;
+        if (query != null && !query.isBlank()) {
+            slice = productRepository.search(query.trim(), categoryId,
+                    PageRequest.of(Math.max(page, 0), pageSize));
+        } else {
+            Pageable pageable = PageRequest.of(Math.max(page, 0), pageSize, ProductSort.NEWEST.toSort());
+            slice = categoryId != null
+                    ? productRepository.findByCategoryIdAndDeletedFalse(categoryId, pageable)
+                    : productRepository.findByDeletedFalse(pageable);
+        }
+        return ProductSearchResultDTO.builder()
+                .items(slice.getContent())
+                .page(slice.getNumber())
+                .size(slice.getNumberOfElements())
+                .hasNext(slice.hasNext())
+                .build();
     }
 
     @Override
@@ -126,14 +335,34 @@ public class ProductServiceImpl implements ProductService {
 
     @Override
     public long countAvailable() {
-        return productRepository.countByAvailableTrueAndDeletedFalse();
+        return productReadCache.getAvailableCount(productRepository::countByAvailableTrueAndDeletedFalse);
+    }
+
+    @Override
+    public CatalogVersion getCatalogVersion() {
+        return productReadCache.getCatalogVersion(productRepository::findCatalogVersion);
     }
 
     @Override
     public Product updateAvailability(Long id, boolean available) {
-        Product product = findById(id).orElseThrow(() -> new RuntimeException("Product not found"));
+        // Read from the database, never the cache: cached instances are shared snapshots
+        Product product = productRepository.findById(id)
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new RuntimeException("Product not found"));
         product.setAvailable(available);
         // Save the updated product (assuming you have a repository)
-        return productRepository.save(product);
+        return publishChange(productRepository.save(product));
+    }
+
+    /** Points the product at its dictionary entry and canonicalizes the category name. */
+    private void applyCategory(Product product) {
+        Category category = categoryRegistry.resolveOrCreate(product.getCategory());
+        product.setCategory(category.getName());
+        product.setCategoryId(category.getId());
+    }
+
+    private Product publishChange(Product product) {
+        eventPublisher.publishEvent(ProductChangedEvent.of(product));
+        return product;
     }
 }
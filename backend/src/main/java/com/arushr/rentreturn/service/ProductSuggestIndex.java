@@ -0,0 +1,219 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.dto.product.ProductSuggestionDTO;
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.arushr.rentreturn.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory prefix index over live product names and categories for
+ * typeahead. Terms live in sorted skip lists so a prefix lookup is a range
+ * scan; reads never touch the database or take a lock. The index is loaded
+ * at startup, kept current from {@link ProductChangedEvent}s after commit,
+ * and rebuilt periodically to pick up writes made by other nodes. Events that
+ * arrive while a rebuild is reading the database are replayed onto the new
+ * terms before they replace the old ones.
+ */
+@Component
+@Slf4j
+public class ProductSuggestIndex {
+
+    /** Candidate terms scanned per requested suggestion before giving up. */
+    private static final int SCAN_FACTOR = 4;
+
+    private final ProductRepository productRepository;
+    private final Object writeLock = new Object();
+    private final Object rebuildLock = new Object();
+    private volatile Terms terms = new Terms();
+    /** Events seen since the running rebuild started; null when none is running. Guarded by writeLock. */
+    private List<ProductChangedEvent> changedDuringRebuild;
+
+    public ProductSuggestIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        rebuild();
+    }
+
+    @Scheduled(
+            fixedDelayString = "${catalog.suggest.rebuild-interval-ms:300000}",
+            initialDelayString = "${catalog.suggest.rebuild-interval-ms:300000}"
+    )
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            synchronized (writeLock) {
+                changedDuringRebuild = new ArrayList<>();
+            }
+            Terms fresh = new Terms();
+            try {
+                productRepository.findAllSuggestEntries().forEach(p ->
+                        fresh.put(new Entry(p.getId(), p.getName(), p.getCategory(), p.isAvailable())));
+            } catch (RuntimeException e) {
+                synchronized (writeLock) {
+                    changedDuringRebuild = null;
+                }
+                throw e;
+            }
+            synchronized (writeLock) {
+                // The snapshot may predate these; applying one it already has is a no-op
+                changedDuringRebuild.forEach(event -> apply(fresh, event));
+                changedDuringRebuild = null;
+                terms = fresh;
+            }
+            log.debug("Suggest index rebuilt with {} products", fresh.entries.size());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onProductChanged(ProductChangedEvent event) {
+        synchronized (writeLock) {
+            apply(terms, event);
+            if (changedDuringRebuild != null) {
+                changedDuringRebuild.add(event);
+            }
+        }
+    }
+
+    private static void apply(Terms target, ProductChangedEvent event) {
+        target.remove(event.getProductId());
+        if (!event.isDeleted()) {
+            target.put(new Entry(event.getProductId(), event.getName(), event.getCategory(), event.isAvailable()));
+        }
+    }
+
+    /**
+     * Categories whose name starts with the prefix come first, then products
+     * whose full name or any word of it does; available products rank ahead.
+     */
+    public List<ProductSuggestionDTO> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Terms current = terms;
+        List<ProductSuggestionDTO> suggestions = new ArrayList<>(limit);
+
+        for (Category category : prefixRange(current.categories, key).values()) {
+            if (suggestions.size() >= limit) {
+                return suggestions;
+            }
+            suggestions.add(new ProductSuggestionDTO(
+                    ProductSuggestionDTO.Type.CATEGORY, category.display, null, category.display));
+        }
+
+        int wanted = limit - suggestions.size();
+        Set<Long> candidates = new LinkedHashSet<>();
+        for (Set<Long> ids : prefixRange(current.words, key).values()) {
+            candidates.addAll(ids);
+            if (candidates.size() >= wanted * SCAN_FACTOR) {
+                break;
+            }
+        }
+        candidates.stream()
+                .map(current.entries::get)
+                .filter(entry -> entry != null)
+                .sorted(Comparator.comparing((Entry entry) -> !entry.available))
+                .limit(wanted)
+                .forEach(entry -> suggestions.add(new ProductSuggestionDTO(
+                        ProductSuggestionDTO.Type.PRODUCT, entry.name, entry.id, entry.category)));
+        return suggestions;
+    }
+
+    private static <V> NavigableMap<String, V> prefixRange(ConcurrentSkipListMap<String, V> map, String prefix) {
+        return map.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    private static Set<String> termsOf(String name) {
+        String normalized = normalize(name);
+        Set<String> result = new LinkedHashSet<>();
+        if (!normalized.isEmpty()) {
+            result.add(normalized);
+            result.addAll(List.of(normalized.split(" ")));
+        }
+        return result;
+    }
+
+    private static final class Entry {
+        final Long id;
+        final String name;
+        final String category;
+        final boolean available;
+
+        Entry(Long id, String name, String category, boolean available) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.available = available;
+        }
+    }
+
+    private static final class Category {
+        final String display;
+        final Set<Long> productIds = ConcurrentHashMap.newKeySet();
+
+        Category(String display) {
+            this.display = display;
+        }
+    }
+
+    /** Mutated only under {@code writeLock}; readers see a consistent-enough view. */
+    private static final class Terms {
+        final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Set<Long>> words = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Category> categories = new ConcurrentSkipListMap<>();
+
+        void put(Entry entry) {
+            entries.put(entry.id, entry);
+            for (String term : termsOf(entry.name)) {
+                words.computeIfAbsent(term, t -> ConcurrentHashMap.newKeySet()).add(entry.id);
+            }
+            String category = normalize(entry.category);
+            if (!category.isEmpty()) {
+                categories.computeIfAbsent(category, c -> new Category(entry.category)).productIds.add(entry.id);
+            }
+        }
+
+        void remove(Long id) {
+            Entry entry = entries.remove(id);
+            if (entry == null) {
+                return;
+            }
+            for (String term : termsOf(entry.name)) {
+                Set<Long> ids = words.get(term);
+                if (ids != null && ids.remove(id) && ids.isEmpty()) {
+                    words.remove(term);
+                }
+            }
+            String category = normalize(entry.category);
+            Category postings = categories.get(category);
+            if (postings != null && postings.productIds.remove(id) && postings.productIds.isEmpty()) {
+                categories.remove(category);
+            }
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.model.RateLimitBucket;
+import com.arushr.rentreturn.repository.RateLimitBucketRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+
+/**
+ * Database-backed token buckets shared by every node. Each call leases a batch
+ * of tokens in one short transaction that holds the bucket row locked, so
+ * concurrent leases on the same bucket queue up instead of conflicting.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitStoreService {
+
+    private final RateLimitBucketRepository rateLimitBucketRepository;
+
+    @Value("${rate-limit.distributed.enabled:false}")
+    private boolean enabled;
+
+    @Value("${rate-limit.distributed.idle-retention-hours:24}")
+    private long idleRetentionHours;
+
+    /**
+     * Leases up to {@code requested} tokens from the shared bucket.
+     *
+     * @return the number of tokens granted, possibly zero
+     */
+    @Transactional
+    public long reserve(String bucketKey, long capacity, Duration refillPeriod, long requested) {
+        long now = System.currentTimeMillis();
+        rateLimitBucketRepository.insertIfAbsent(bucketKey, capacity, now);
+        RateLimitBucket bucket = rateLimitBucketRepository.findForUpdate(bucketKey)
+                .orElseThrow(() -> new IllegalStateException("Rate-limit bucket vanished: " + bucketKey));
+        bucket.refill(capacity, refillPeriod.toMillis(), now);
+        return bucket.take(requested);
+    }
+
+    @Scheduled(fixedDelayString = "${rate-limit.distributed.purge-interval-ms:3600000}")
+    public void purgeIdleBuckets() {
+        if (!enabled) {
+            return;
+        }
+        long cutoff = System.currentTimeMillis() - Duration.ofHours(idleRetentionHours).toMillis();
+        int deleted = rateLimitBucketRepository.deleteIdleBefore(cutoff);
+        if (deleted > 0) {
+            log.info("Purged {} idle rate-limit buckets", deleted);
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.enums.RentalStatus;
+import com.arushr.rentreturn.event.RentalChangedEvent;
+import com.arushr.rentreturn.event.RentalOverdueEvent;
+import com.arushr.rentreturn.repository.RentalRepository;
+import com.arushr.rentreturn.util.HierarchicalTimingWheel;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Sends "ends tomorrow" and "due in 2 hours" reminders from an in-memory
+ * {@link HierarchicalTimingWheel}. The wheel holds rentals ending within the
+ * lookahead window, so firing never polls the rentals table.
+ *
+ * <p>Only the holder of the job lease keeps a wheel. It fills it from a range
+ * scan on rental_end when it takes the lease and periodically after that,
+ * applies {@link RentalChangedEvent}s from its own requests after commit, and
+ * picks up rentals written on other nodes with a delta scan on updated_at.
+ * Due reminders are re-checked against the database in one query before
+ * sending, which catches returns and extensions made elsewhere. Reminders
+ * whose time passed while no node held the lease are skipped.
+ */
+@Component
+@Slf4j
+public class RentalReminderScheduler {
+
+    static final String JOB_NAME = "rental-reminders";
+
+    private static final List<RentalStatus> OUTSTANDING = List.of(RentalStatus.PENDING, RentalStatus.ACTIVE);
+    /** Re-reads rows written shortly before the last sync whose transactions committed late. */
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    enum Kind {
+        DAY_BEFORE(Duration.ofHours(24), "Your rental ends tomorrow", "ends tomorrow"),
+        TWO_HOURS(Duration.ofHours(2), "Your rental is due in 2 hours", "is due back in 2 hours");
+
+        private final Duration beforeEnd;
+        private final String subject;
+        private final String phrase;
+
+        Kind(Duration beforeEnd, String subject, String phrase) {
+            this.beforeEnd = beforeEnd;
+            this.subject = subject;
+            this.phrase = phrase;
+        }
+    }
+
+    record Key(Long rentalId, Kind kind) {
+    }
+
+    record Reminder(Long rentalId, Kind kind, LocalDateTime rentalEnd,
+                    String userEmail, String username, String productName) {
+    }
+
+    private final RentalRepository rentalRepository;
+    private final EmailService emailService;
+    private final JobLeases jobLeases;
+    private final HierarchicalTimingWheel<Key, Reminder> wheel;
+    private final Duration lookahead;
+    private final Duration lease;
+    private final Counter sentCounter;
+    private final Counter failedCounter;
+    private volatile boolean leader;
+    private volatile LocalDateTime syncedUpTo;
+
+    public RentalReminderScheduler(
+            RentalRepository rentalRepository,
+            EmailService emailService,
+            JobLeases jobLeases,
+            MeterRegistry meterRegistry,
+            @Value("${rental.reminders.tick-ms:60000}") long tickMs,
+            @Value("${rental.reminders.lookahead-hours:48}") long lookaheadHours,
+            @Value("${rental.reminders.lease-seconds:180}") long leaseSeconds
+    ) {
+        this.rentalRepository = rentalRepository;
+        this.emailService = emailService;
+        this.jobLeases = jobLeases;
+        this.wheel = new HierarchicalTimingWheel<>(tickMs, 60, 3, System.currentTimeMillis());
+        this.lookahead = Duration.ofHours(lookaheadHours);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.sentCounter = Counter.builder("rentals.reminders.sent")
+                .description("Due-date reminder emails sent")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("rentals.reminders.failed")
+                .description("Due-date reminder emails that could not be sent")
+                .register(meterRegistry);
+        Gauge.builder("rentals.reminders.scheduled", wheel, HierarchicalTimingWheel::size)
+                .description("Reminders pending in the timing wheel")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(
+            fixedDelayString = "${rental.reminders.refill-interval-ms:3600000}",
+            initialDelayString = "${rental.reminders.refill-interval-ms:3600000}"
+    )
+    public void refill() {
+        if (!leader) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<RentalRepository.ReminderView> rentals =
+                rentalRepository.findRemindersEndingBetween(OUTSTANDING, now, now.plus(lookahead));
+        rentals.forEach(this::schedule);
+        syncedUpTo = now;
+        log.debug("Reminder wheel refilled from {} rentals, {} pending", rentals.size(), wheel.size());
+    }
+
+    @Scheduled(
+            fixedDelayString = "${rental.reminders.sync-interval-ms:300000}",
+            initialDelayString = "${rental.reminders.sync-interval-ms:300000}"
+    )
+    public void sync() {
+        LocalDateTime since = syncedUpTo;
+        if (!leader || since == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        rentalRepository.findRemindersUpdatedSince(OUTSTANDING, since.minus(SYNC_OVERLAP), now, now.plus(lookahead))
+                .forEach(this::schedule);
+        syncedUpTo = now;
+    }
+
+    /**
+     * Renews the lease before turning the wheel, so due reminders are only
+     * taken out of a wheel that is allowed to send them.
+     */
+    @Scheduled(fixedRateString = "${rental.reminders.tick-ms:60000}")
+    public void tick() {
+        if (!jobLeases.tryAcquire(JOB_NAME, lease)) {
+            if (leader) {
+                leader = false;
+                wheel.clear(System.currentTimeMillis());
+                log.info("Lost the {} lease, dropped the reminder wheel", JOB_NAME);
+            }
+            return;
+        }
+        if (!leader) {
+            wheel.clear(System.currentTimeMillis());
+            leader = true;
+            try {
+                refill();
+            } catch (RuntimeException e) {
+                leader = false;
+                throw e;
+            }
+        }
+        long now = System.currentTimeMillis();
+        List<Reminder> due = wheel.advance(now);
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, RentalRepository.ReminderView> current;
+        try {
+            current = rentalRepository
+                    .findReminders(due.stream().map(Reminder::rentalId).distinct().toList(), OUTSTANDING)
+                    .stream()
+                    .collect(Collectors.toMap(RentalRepository.ReminderView::getId, Function.identity()));
+        } catch (RuntimeException e) {
+            // Put them back so the next tick retries
+            due.forEach(r -> wheel.schedule(new Key(r.rentalId(), r.kind()), now, r));
+            throw e;
+        }
+        for (Reminder reminder : due) {
+            RentalRepository.ReminderView rental = current.get(reminder.rentalId());
+            if (rental == null) {
+                continue;
+            }
+            if (!sameTime(rental.getRentalEnd(), reminder.rentalEnd())) {
+                // Moved on another node since the wheel was filled
+                schedule(rental);
+                continue;
+            }
+            send(reminder);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalChanged(RentalChangedEvent event) {
+        if (!leader) {
+            return;
+        }
+        if (!event.isOutstanding() || event.getRentalEnd() == null
+                || event.getRentalEnd().isAfter(LocalDateTime.now().plus(lookahead))) {
+            cancel(event.getRentalId());
+            return;
+        }
+        schedule(event.getRentalId(), event.getRentalEnd(), event.getUserEmail(), event.getUsername(),
+                event.getProductName());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRentalOverdue(RentalOverdueEvent event) {
+        cancel(event.getRentalId());
+    }
+
+    private void schedule(RentalRepository.ReminderView rental) {
+        schedule(rental.getId(), rental.getRentalEnd(), rental.getUserEmail(), rental.getUsername(),
+                rental.getProductName());
+    }
+
+    private void schedule(Long rentalId, LocalDateTime rentalEnd, String userEmail, String username,
+                          String productName) {
+        long now = System.currentTimeMillis();
+        for (Kind kind : Kind.values()) {
+            Key key = new Key(rentalId, kind);
+            long deadline = toEpochMillis(rentalEnd.minus(kind.beforeEnd));
+            if (deadline <= now || userEmail == null) {
+                wheel.cancel(key);
+            } else {
+                wheel.schedule(key, deadline, new Reminder(rentalId, kind, rentalEnd, userEmail, username, productName));
+            }
+        }
+    }
+
+    private void cancel(Long rentalId) {
+        for (Kind kind : Kind.values()) {
+            wheel.cancel(new Key(rentalId, kind));
+        }
+    }
+
+    private void send(Reminder reminder) {
+        try {
+            emailService.sendSimpleMessage(reminder.userEmail(), reminder.kind().subject + " - Rent & Return",
+                    reminderText(reminder));
+            sentCounter.increment();
+        } catch (RuntimeException e) {
+            failedCounter.increment();
+            log.warn("Could not send {} reminder for rental {}: {}", reminder.kind(), reminder.rentalId(), e.getMessage());
+        }
+    }
+
+    private static String reminderText(Reminder reminder) {
+        return String.format("Dear %s,\n\nYour rental of %s %s, on %s.\nPlease return it on time or extend the rental from your account.\n\nThank you for using Rent & Return!",
+                reminder.username(),
+                reminder.productName(),
+                reminder.kind().phrase,
+                reminder.rentalEnd()
+        );
+    }
+
+    /**
+     * Ends carried by events keep nanoseconds while the database stores
+     * microseconds, so ends within a microsecond are the same end.
+     */
+    private static boolean sameTime(LocalDateTime a, LocalDateTime b) {
+        return Math.abs(ChronoUnit.NANOS.between(a, b)) < 1_000;
+    }
+
+    private static long toEpochMillis(LocalDateTime timestamp) {
+        return timestamp.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
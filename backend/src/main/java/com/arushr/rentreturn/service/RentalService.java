@@ -1,8 +1,11 @@
 package com.arushr.rentreturn.service;
 
+import com.arushr.rentreturn.dto.rental.AvailabilityCalendarDTO;
+import com.arushr.rentreturn.model.Product;
 import com.arushr.rentreturn.model.Rental;
 import com.arushr.rentreturn.enums.RentalStatus;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -27,11 +30,13 @@ public interface RentalService {
 
     void cancelRental(Long rentalId);
 
+    AvailabilityCalendarDTO getAvailabilityCalendar(Product product, LocalDate from, int days);
+
     long countActive();
 
     long countAll();
 
-    List<Rental> findOverdueRentals(LocalDateTime currentTime);
+    List<Rental> findOverdueRentals();
 
     List<Rental> findByStatus(RentalStatus status);
 
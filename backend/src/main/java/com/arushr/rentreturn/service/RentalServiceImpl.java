@@ -1,17 +1,24 @@
 package com.arushr.rentreturn.service;
 
+import com.arushr.rentreturn.dto.rental.AvailabilityCalendarDTO;
 import com.arushr.rentreturn.enums.RentalStatus;
+import com.arushr.rentreturn.event.RentalChangedEvent;
+import com.arushr.rentreturn.model.Product;
 import com.arushr.rentreturn.model.Rental;
+import com.arushr.rentreturn.repository.ProductRepository;
 import com.arushr.rentreturn.repository.RentalRepository;
 import com.arushr.rentreturn.service.EmailService;
 import com.arushr.rentreturn.exception.BusinessRuleException;
 import com.arushr.rentreturn.exception.ValidationException;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,8 +28,11 @@ import java.util.Optional;
 public class RentalServiceImpl implements RentalService {
 
     private final RentalRepository rentalRepository;
+    private final ProductRepository productRepository;
     private final EmailService emailService;
     private final CartItemService cartItemService;
+    private final ReservationEngine reservationEngine;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public Rental create(Rental rental) {
@@ -34,8 +44,14 @@ public class RentalServiceImpl implements RentalService {
             throw new BusinessRuleException("You already have an active rental. Return it before renting another product.");
         }
         
-        // Check product availability and stock
-        if (!rental.getProduct().isAvailable() || rental.getProduct().getStock() <= 0) {
+        // Callers may pass a cached copy; availability and stock must come from the database
+        Product product = productRepository.findById(rental.getProduct().getId())
+                .filter(p -> !p.isDeleted())
+                .orElseThrow(() -> new BusinessRuleException("Product is not available for rental."));
+        rental.setProduct(product);
+
+        // Check product availability and stock; per-date capacity is checked when booking below
+        if (!product.isAvailable() || product.getStock() <= 0) {
             throw new BusinessRuleException("Product is not available for rental.");
         }
         
@@ -61,7 +77,14 @@ public class RentalServiceImpl implements RentalService {
         // Set initial status to PENDING
         rental.setStatus(RentalStatus.PENDING);
         
-        Rental saved = rentalRepository.save(rental);
+        Rental saved = reservationEngine.reserve(
+                rental.getProduct().getId(),
+                rental.getProduct().getStock(),
+                rental.getRentalStart(),
+                rental.getRentalEnd(),
+                () -> rentalRepository.save(rental)
+        );
+        eventPublisher.publishEvent(RentalChangedEvent.of(saved));
         // Clear user's cart after successful rental
         cartItemService.clearCart(rental.getUser());
         // Send confirmation email
@@ -108,7 +131,10 @@ public class RentalServiceImpl implements RentalService {
     public Rental markReturned(Long rentalId) {
         return rentalRepository.findById(rentalId).map(rental -> {
             rental.setStatus(RentalStatus.RETURNED);
-            return rentalRepository.save(rental);
+            Rental saved = rentalRepository.save(rental);
+            reservationEngine.release(rental.getProduct().getId(), rental.getId());
+            eventPublisher.publishEvent(RentalChangedEvent.of(saved));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Rental not found"));
     }
 
@@ -118,8 +144,16 @@ public class RentalServiceImpl implements RentalService {
             if (rental.getRentalEnd() == null) {
                 throw new ValidationException("Rental end date is not set");
             }
-            rental.setRentalEnd(rental.getRentalEnd().plusDays(extraDays));
-            return rentalRepository.save(rental);
+            LocalDateTime newEnd = rental.getRentalEnd().plusDays(extraDays);
+            reservationEngine.extend(rental.getProduct().getId(), rental.getProduct().getStock(), rental.getId(),
+                    rental.getRentalStart(), rental.getRentalEnd(), newEnd);
+            rental.setRentalEnd(newEnd);
+            if (rental.getStatus() == RentalStatus.OVERDUE && newEnd.isAfter(LocalDateTime.now())) {
+                rental.markActive();
+            }
+            Rental saved = rentalRepository.save(rental);
+            eventPublisher.publishEvent(RentalChangedEvent.of(saved));
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Rental not found"));
     }
 
@@ -128,9 +162,23 @@ public class RentalServiceImpl implements RentalService {
         rentalRepository.findById(rentalId).ifPresent(rental -> {
             rental.softDelete();
             rentalRepository.save(rental);
+            reservationEngine.release(rental.getProduct().getId(), rental.getId());
+            eventPublisher.publishEvent(RentalChangedEvent.of(rental));
         });
     }
 
+    @Override
+    public AvailabilityCalendarDTO getAvailabilityCalendar(Product product, LocalDate from, int days) {
+        int units = product.getStock() == null ? 0 : product.getStock();
+        int[] booked = reservationEngine.bookedPerDay(product.getId(), from, days);
+        List<AvailabilityCalendarDTO.Day> calendar = new ArrayList<>(days);
+        for (int i = 0; i < days; i++) {
+            int free = product.isAvailable() ? Math.max(0, units - booked[i]) : 0;
+            calendar.add(new AvailabilityCalendarDTO.Day(from.plusDays(i), booked[i], free));
+        }
+        return new AvailabilityCalendarDTO(product.getId(), units, calendar);
+    }
+
     @Override
     public long countActive() {
         return rentalRepository.findByStatus(RentalStatus.ACTIVE)
@@ -145,8 +193,9 @@ public class RentalServiceImpl implements RentalService {
     }
 
     @Override
-    public List<Rental> findOverdueRentals(LocalDateTime now) {
-        return rentalRepository.findAllByRentalEndBeforeAndStatusNotAndDeletedFalse(now, RentalStatus.RETURNED);
+    public List<Rental> findOverdueRentals() {
+        // Kept current by OverdueRentalSweeper
+        return rentalRepository.findByStatusAndDeletedFalse(RentalStatus.OVERDUE);
     }
 
     @Override
@@ -0,0 +1,391 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.exception.BusinessRuleException;
+import com.arushr.rentreturn.exception.ServiceBusyException;
+import com.arushr.rentreturn.exception.ValidationException;
+import com.arushr.rentreturn.model.Rental;
+import com.arushr.rentreturn.repository.ProductRepository;
+import com.arushr.rentreturn.repository.RentalRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Date-range inventory for rentals. Each product has {@code stock} units and
+ * a set of booked {@code [rentalStart, rentalEnd)} windows; a new booking is
+ * accepted only if, at every instant of its window, fewer than {@code stock}
+ * bookings overlap it.
+ *
+ * <p>Check-and-book runs under a per-product lock taken from a fixed set of
+ * stripes, so checkouts of different products proceed in parallel. Bookings
+ * are applied as soon as the rental row is written and undone if the
+ * surrounding transaction rolls back. Booking sets are loaded lazily from the
+ * database and expire after a TTL so writes from other nodes are picked up;
+ * a set holding bookings whose transaction has not completed yet is pinned,
+ * so expiry or eviction can never rebuild it from committed rows alone.
+ *
+ * <p>The stripe lock only serializes bookings made on this node. Unless
+ * {@code rental.reservations.single-node} is set, a booking that passes the
+ * in-memory check also locks the product row and recounts the committed
+ * overlapping rentals before it is written, so replicas cannot oversell a
+ * product between them. Every booking of the product on any node holds that
+ * row lock until it commits, so the recount sees all of them.
+ *
+ * <p>Each product also keeps a day-indexed counter array over a rolling
+ * horizon starting today, updated with every booking change, which serves the
+ * availability calendar without scanning bookings.
+ */
+@Component
+public class ReservationEngine {
+
+    private final RentalRepository rentalRepository;
+    private final ProductRepository productRepository;
+    private final ReentrantLock[] stripes;
+    private final Cache<Long, ProductBookings> bookings;
+    /** Sets with uncommitted bookings; consulted before the database when the cache misses. */
+    private final Map<Long, ProductBookings> pinned = new ConcurrentHashMap<>();
+    private final long lockTimeoutMs;
+    private final int horizonDays;
+    private final boolean singleNode;
+
+    public ReservationEngine(
+            RentalRepository rentalRepository,
+            ProductRepository productRepository,
+            MeterRegistry meterRegistry,
+            @Value("${rental.reservations.lock-stripes:64}") int lockStripes,
+            @Value("${rental.reservations.lock-timeout-ms:2000}") long lockTimeoutMs,
+            @Value("${rental.reservations.max-products:10000}") long maxProducts,
+            @Value("${rental.reservations.ttl-seconds:300}") long ttlSeconds,
+            @Value("${rental.calendar.horizon-days:180}") int horizonDays,
+            @Value("${rental.reservations.single-node:false}") boolean singleNode
+    ) {
+        this.rentalRepository = rentalRepository;
+        this.productRepository = productRepository;
+        this.lockTimeoutMs = lockTimeoutMs;
+        this.horizonDays = horizonDays;
+        this.singleNode = singleNode;
+        this.stripes = new ReentrantLock[lockStripes];
+        for (int i = 0; i < lockStripes; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+        this.bookings = Caffeine.newBuilder()
+                .maximumSize(maxProducts)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, bookings, "rentals.reservations");
+    }
+
+    /**
+     * Books {@code [start, end)} on the product and runs {@code save} to persist
+     * the rental while the product is locked.
+     *
+     * @throws BusinessRuleException if no unit is free for the whole window
+     */
+    public Rental reserve(Long productId, int units, LocalDateTime start, LocalDateTime end, Supplier<Rental> save) {
+        return withLock(productId, () -> {
+            ProductBookings current = load(productId);
+            if (current.peakOverlap(start, end, null) >= units
+                    || !committedFits(productId, units, start, end, null)) {
+                throw new BusinessRuleException("No unit of this product is free for the requested dates.");
+            }
+            Rental saved = save.get();
+            current.put(saved.getId(), start, end);
+            pinUntilCompletion(productId, current, () -> current.remove(saved.getId()));
+            return saved;
+        });
+    }
+
+    /**
+     * Moves a booking's end date, checking only the added part of the window.
+     *
+     * @throws BusinessRuleException if the extension would overbook the product
+     */
+    public void extend(Long productId, int units, Long rentalId, LocalDateTime start,
+                       LocalDateTime oldEnd, LocalDateTime newEnd) {
+        withLock(productId, () -> {
+            ProductBookings current = load(productId);
+            if (newEnd.isAfter(oldEnd) && (current.peakOverlap(oldEnd, newEnd, rentalId) >= units
+                    || !committedFits(productId, units, oldEnd, newEnd, rentalId))) {
+                throw new BusinessRuleException("The product is booked by someone else during the extension.");
+            }
+            current.put(rentalId, start, newEnd);
+            pinUntilCompletion(productId, current, () -> current.put(rentalId, start, oldEnd));
+            return null;
+        });
+    }
+
+    /** Frees the unit held by a returned or cancelled rental. */
+    public void release(Long productId, Long rentalId) {
+        withLock(productId, () -> {
+            ProductBookings current = bookings.getIfPresent(productId);
+            if (current == null) {
+                current = pinned.get(productId);
+            }
+            if (current != null) {
+                ProductBookings set = current;
+                Booking removed = set.remove(rentalId);
+                if (removed != null) {
+                    pinUntilCompletion(productId, set, () -> set.put(rentalId, removed.start, removed.end));
+                }
+            }
+            return null;
+        });
+    }
+
+    public int getHorizonDays() {
+        return horizonDays;
+    }
+
+    /**
+     * Units booked on each of {@code days} days starting at {@code from}, which
+     * must lie within the horizon that starts today.
+     */
+    public int[] bookedPerDay(Long productId, LocalDate from, int days) {
+        return withLock(productId, () -> load(productId).bookedPerDay(LocalDate.now(), from, days));
+    }
+
+    /** Current bookings of the product that end after {@code from}. */
+    public List<Booking> bookingsOf(Long productId, LocalDateTime from) {
+        return withLock(productId, () -> load(productId).endingAfter(from));
+    }
+
+    private ProductBookings load(Long productId) {
+        return bookings.get(productId, id -> {
+            ProductBookings inFlight = pinned.get(id);
+            if (inFlight != null) {
+                return inFlight;
+            }
+            ProductBookings loaded = new ProductBookings(horizonDays);
+            rentalRepository.findBookings(id, LocalDateTime.now())
+                    .forEach(b -> loaded.put(b.getId(), b.getRentalStart(), b.getRentalEnd()));
+            return loaded;
+        });
+    }
+
+    /**
+     * Locks the product row for the rest of the transaction and checks the
+     * window against the rentals in the database, which include bookings
+     * committed on other nodes since this node's set was loaded. A set that
+     * turns out to be stale is dropped so the next booking reloads it.
+     */
+    private boolean committedFits(Long productId, int units, LocalDateTime start, LocalDateTime end,
+                                  Long ignoredRentalId) {
+        if (singleNode) {
+            return true;
+        }
+        productRepository.lockById(productId);
+        List<Booking> committed = rentalRepository.findBookingsBetween(productId, start, end).stream()
+                .map(b -> new Booking(b.getId(), b.getRentalStart(), b.getRentalEnd()))
+                .toList();
+        if (ProductBookings.peakOverlap(committed, start, end, ignoredRentalId) < units) {
+            return true;
+        }
+        bookings.invalidate(productId);
+        return false;
+    }
+
+    private <T> T withLock(Long productId, Supplier<T> action) {
+        ReentrantLock lock = stripe(productId);
+        try {
+            if (!lock.tryLock(lockTimeoutMs, TimeUnit.MILLISECONDS)) {
+                throw new ServiceBusyException("Too many concurrent bookings for this product, please retry");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceBusyException("Interrupted while waiting to book", e);
+        }
+        try {
+            return action.get();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private ReentrantLock stripe(Long productId) {
+        return stripes[Math.floorMod(productId.hashCode(), stripes.length)];
+    }
+
+    /**
+     * Keeps {@code current} as the product's booking set until the surrounding
+     * transaction completes, then runs {@code undo} if it did not commit.
+     * Called with the product's stripe lock held.
+     */
+    private void pinUntilCompletion(Long productId, ProductBookings current, Runnable undo) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        current.pins++;
+        pinned.put(productId, current);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                // Unconditional: giving up here would leave the set pinned forever
+                ReentrantLock lock = stripe(productId);
+                lock.lock();
+                try {
+                    if (status != STATUS_COMMITTED) {
+                        undo.run();
+                    }
+                    if (--current.pins == 0) {
+                        pinned.remove(productId, current);
+                    }
+                } finally {
+                    lock.unlock();
+                }
+            }
+        });
+    }
+
+    public static final class Booking {
+        final Long rentalId;
+        final LocalDateTime start;
+        final LocalDateTime end;
+
+        Booking(Long rentalId, LocalDateTime start, LocalDateTime end) {
+            this.rentalId = rentalId;
+            this.start = start;
+            this.end = end;
+        }
+
+        public Long getRentalId() {
+            return rentalId;
+        }
+
+        public LocalDateTime getStart() {
+            return start;
+        }
+
+        public LocalDateTime getEnd() {
+            return end;
+        }
+    }
+
+    /** Guarded by the product's stripe lock. */
+    static final class ProductBookings {
+        private final Map<Long, Booking> byRental = new HashMap<>();
+        /** perDay[i] = bookings touching day origin + i. */
+        private final short[] perDay;
+        private LocalDate origin = LocalDate.now();
+        /** Transactions that changed this set and have not completed yet. */
+        private int pins;
+
+        ProductBookings(int horizonDays) {
+            this.perDay = new short[horizonDays];
+        }
+
+        void put(Long rentalId, LocalDateTime start, LocalDateTime end) {
+            Booking booking = new Booking(rentalId, start, end);
+            Booking previous = byRental.put(rentalId, booking);
+            if (previous != null) {
+                count(previous, -1);
+            }
+            count(booking, 1);
+        }
+
+        Booking remove(Long rentalId) {
+            Booking removed = byRental.remove(rentalId);
+            if (removed != null) {
+                count(removed, -1);
+            }
+            return removed;
+        }
+
+        int[] bookedPerDay(LocalDate today, LocalDate from, int days) {
+            if (!origin.equals(today)) {
+                // Roll the horizon forward and recount; bookings are few per product
+                origin = today;
+                Arrays.fill(perDay, (short) 0);
+                byRental.values().forEach(b -> count(b, 1));
+            }
+            int offset = (int) ChronoUnit.DAYS.between(origin, from);
+            if (offset < 0 || days < 1 || offset + days > perDay.length) {
+                throw new ValidationException("Calendar range must lie within the next " + perDay.length + " days");
+            }
+            int[] booked = new int[days];
+            for (int i = 0; i < days; i++) {
+                booked[i] = perDay[offset + i];
+            }
+            return booked;
+        }
+
+        private void count(Booking booking, int delta) {
+            // Days touched by [start, end): from the start date through the day before an exact-midnight end
+            LocalDate last = booking.end.toLocalTime().equals(LocalTime.MIDNIGHT)
+                    ? booking.end.toLocalDate().minusDays(1)
+                    : booking.end.toLocalDate();
+            int first = (int) Math.max(0, ChronoUnit.DAYS.between(origin, booking.start.toLocalDate()));
+            int end = (int) Math.min(perDay.length - 1, ChronoUnit.DAYS.between(origin, last));
+            for (int i = first; i <= end; i++) {
+                perDay[i] += (short) delta;
+            }
+        }
+
+        List<Booking> endingAfter(LocalDateTime from) {
+            return byRental.values().stream().filter(b -> b.end.isAfter(from)).toList();
+        }
+
+        /** Maximum number of bookings overlapping any instant of [start, end), sweeping their boundaries. */
+        int peakOverlap(LocalDateTime start, LocalDateTime end, Long ignoredRentalId) {
+            return peakOverlap(byRental.values(), start, end, ignoredRentalId);
+        }
+
+        static int peakOverlap(Collection<Booking> bookings, LocalDateTime start, LocalDateTime end,
+                               Long ignoredRentalId) {
+            List<LocalDateTime[]> overlapping = new ArrayList<>();
+            for (Booking b : bookings) {
+                if (!b.rentalId.equals(ignoredRentalId) && b.start.isBefore(end) && b.end.isAfter(start)) {
+                    overlapping.add(new LocalDateTime[] {
+                            b.start.isBefore(start) ? start : b.start,
+                            b.end.isAfter(end) ? end : b.end
+                    });
+                }
+            }
+            return peak(overlapping);
+        }
+
+        private static int peak(Collection<LocalDateTime[]> intervals) {
+            List<LocalDateTime> starts = new ArrayList<>(intervals.size());
+            List<LocalDateTime> ends = new ArrayList<>(intervals.size());
+            for (LocalDateTime[] interval : intervals) {
+                starts.add(interval[0]);
+                ends.add(interval[1]);
+            }
+            starts.sort(null);
+            ends.sort(null);
+            int peak = 0;
+            int open = 0;
+            int e = 0;
+            for (LocalDateTime s : starts) {
+                // Half-open windows: one ending exactly when another starts frees its unit first
+                while (e < ends.size() && !ends.get(e).isAfter(s)) {
+                    open--;
+                    e++;
+                }
+                peak = Math.max(peak, ++open);
+            }
+            return peak;
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.arushr.rentreturn.service;
 import com.arushr.rentreturn.exception.BusinessRuleException;
 import com.arushr.rentreturn.model.User;
 import com.arushr.rentreturn.repository.UserRepository;
+import com.arushr.rentreturn.security.TokenVersionRegistry;
+import com.arushr.rentreturn.security.UserPrincipalCache;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,6 +21,8 @@ import java.util.Optional;
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final UserPrincipalCache userPrincipalCache;
+    private final TokenVersionRegistry tokenVersionRegistry;
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
@@ -69,7 +73,9 @@ public class UserServiceImpl implements UserService {
                 .map(user -> {
                     user.setUsername(updatedUser.getUsername());
                     user.setPhone(updatedUser.getPhone());
-                    return userRepository.save(user);
+                    User saved = userRepository.save(user);
+                    userPrincipalCache.invalidate(saved.getEmail());
+                    return saved;
                 })
                 .orElseThrow(() -> new RuntimeException("User not found"));
     }
@@ -78,7 +84,10 @@ public class UserServiceImpl implements UserService {
     public void softDeleteUser(Long id) {
         userRepository.findById(id).ifPresent(user -> {
             user.setDeleted(true);
+            user.bumpTokenVersion();
             userRepository.save(user);
+            userPrincipalCache.invalidate(user.getEmail());
+            tokenVersionRegistry.record(user.getId(), user.getTokenVersion());
         });
     }
 
@@ -152,7 +161,10 @@ public class UserServiceImpl implements UserService {
     public void blockUser(Long id) {
         userRepository.findById(id).ifPresentOrElse(user -> {
             user.setBlocked(true);
+            user.bumpTokenVersion();
             userRepository.save(user);
+            userPrincipalCache.invalidate(user.getEmail());
+            tokenVersionRegistry.record(user.getId(), user.getTokenVersion());
         }, () -> { throw new BusinessRuleException("User not found"); });
     }
 
@@ -160,6 +172,7 @@ public class UserServiceImpl implements UserService {
         userRepository.findById(id).ifPresentOrElse(user -> {
             user.setBlocked(false);
             userRepository.save(user);
+            userPrincipalCache.invalidate(user.getEmail());
         }, () -> { throw new BusinessRuleException("User not found"); });
     }
 
@@ -0,0 +1,69 @@
+package com.arushr.rentreturn.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Minimal lock-free Bloom filter over string keys. Keys are expected to be
+ * well-distributed already (e.g. hex digests), so positions are derived from
+ * {@link String#hashCode()} with double hashing.
+ */
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final int numBits;
+    private final int numHashes;
+    private final int capacity;
+
+    public BloomFilter(int expectedInsertions, double falsePositiveRate) {
+        this.capacity = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Integer.MAX_VALUE - 64L, Math.max(64L, optimalBits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / capacity * Math.log(2)));
+        this.bits = new AtomicLongArray((numBits + 63) >>> 6);
+    }
+
+    public void put(String key) {
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            setBit(((h1 + i * h2) & Integer.MAX_VALUE) % numBits);
+        }
+    }
+
+    public boolean mightContain(String key) {
+        int h1 = key.hashCode();
+        int h2 = mix(h1);
+        for (int i = 0; i < numHashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((bits.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private void setBit(int bit) {
+        int index = bit >>> 6;
+        long mask = 1L << bit;
+        long current;
+        do {
+            current = bits.get(index);
+            if ((current & mask) != 0) {
+                return;
+            }
+        } while (!bits.compareAndSet(index, current, current | mask));
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h | 1;
+    }
+}
@@ -0,0 +1,149 @@
+package com.arushr.rentreturn.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by {@code K}. Level 0 has one slot per tick;
+ * each higher level has slots as wide as the whole level below it. Entries
+ * sit in the coarsest slot that still separates them from the current time
+ * and are cascaded down as the wheel turns, so scheduling, cancelling and
+ * firing are all O(1) per entry regardless of how many are pending.
+ *
+ * <p>Scheduling a key that is already pending replaces it. Deadlines beyond
+ * {@link #getRangeMillis()} are rejected. All methods are synchronized.
+ */
+public class HierarchicalTimingWheel<K, V> {
+
+    private final long tickMs;
+    private final int slotsPerLevel;
+    private final long[] levelSpan;
+    private final List<List<Map<K, Entry<K, V>>>> levels;
+    private final Map<K, Entry<K, V>> index = new HashMap<>();
+    private long currentTick;
+
+    public HierarchicalTimingWheel(long tickMs, int slotsPerLevel, int levelCount, long startMs) {
+        if (tickMs <= 0 || slotsPerLevel < 2 || levelCount < 1) {
+            throw new IllegalArgumentException("Invalid timing wheel geometry");
+        }
+        this.tickMs = tickMs;
+        this.slotsPerLevel = slotsPerLevel;
+        this.levelSpan = new long[levelCount];
+        this.levels = new ArrayList<>(levelCount);
+        long span = 1;
+        for (int level = 0; level < levelCount; level++) {
+            levelSpan[level] = span;
+            List<Map<K, Entry<K, V>>> slots = new ArrayList<>(slotsPerLevel);
+            for (int i = 0; i < slotsPerLevel; i++) {
+                slots.add(new LinkedHashMap<>());
+            }
+            levels.add(slots);
+            span = Math.multiplyExact(span, slotsPerLevel);
+        }
+        this.currentTick = Math.floorDiv(startMs, tickMs);
+    }
+
+    /**
+     * Schedules {@code value} to fire at {@code deadlineMs}. Returns false if the
+     * deadline is beyond the wheel's range; a deadline that has already passed
+     * fires on the next {@link #advance}.
+     */
+    public synchronized boolean schedule(K key, long deadlineMs, V value) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMs, tickMs), currentTick + 1);
+        if (deadlineTick - currentTick >= levelSpan[levelSpan.length - 1] * slotsPerLevel) {
+            return false;
+        }
+        cancel(key);
+        Entry<K, V> entry = new Entry<>(key, deadlineTick, value);
+        index.put(key, entry);
+        place(entry);
+        return true;
+    }
+
+    public synchronized boolean cancel(K key) {
+        Entry<K, V> entry = index.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot.remove(key);
+        return true;
+    }
+
+    /** Turns the wheel up to {@code nowMs} and returns the values that fell due, oldest first. */
+    public synchronized List<V> advance(long nowMs) {
+        long targetTick = Math.floorDiv(nowMs, tickMs);
+        List<V> due = new ArrayList<>();
+        while (currentTick < targetTick) {
+            currentTick++;
+            for (int level = levelSpan.length - 1; level > 0; level--) {
+                if (currentTick % levelSpan[level] == 0) {
+                    cascade(level);
+                }
+            }
+            Map<K, Entry<K, V>> slot = levels.get(0).get(slotIndex(0, currentTick));
+            for (Entry<K, V> entry : slot.values()) {
+                index.remove(entry.key);
+                due.add(entry.value);
+            }
+            slot.clear();
+        }
+        return due;
+    }
+
+    /** Drops every pending entry and restarts the wheel at {@code nowMs}. */
+    public synchronized void clear(long nowMs) {
+        for (List<Map<K, Entry<K, V>>> slots : levels) {
+            slots.forEach(Map::clear);
+        }
+        index.clear();
+        currentTick = Math.floorDiv(nowMs, tickMs);
+    }
+
+    public synchronized int size() {
+        return index.size();
+    }
+
+    public long getRangeMillis() {
+        return levelSpan[levelSpan.length - 1] * slotsPerLevel * tickMs;
+    }
+
+    private void cascade(int level) {
+        Map<K, Entry<K, V>> slot = levels.get(level).get(slotIndex(level, currentTick));
+        List<Entry<K, V>> entries = new ArrayList<>(slot.values());
+        slot.clear();
+        for (Entry<K, V> entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry<K, V> entry) {
+        int level = 0;
+        while (level < levelSpan.length - 1
+                && entry.deadlineTick / levelSpan[level] - currentTick / levelSpan[level] >= slotsPerLevel) {
+            level++;
+        }
+        Map<K, Entry<K, V>> slot = levels.get(level).get(slotIndex(level, entry.deadlineTick));
+        entry.slot = slot;
+        slot.put(entry.key, entry);
+    }
+
+    private int slotIndex(int level, long tick) {
+        return (int) Math.floorMod(tick / levelSpan[level], (long) slotsPerLevel);
+    }
+
+    private static final class Entry<K, V> {
+        private final K key;
+        private final long deadlineTick;
+        private final V value;
+        private Map<K, Entry<K, V>> slot;
+
+        private Entry(K key, long deadlineTick, V value) {
+            this.key = key;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+    }
+}
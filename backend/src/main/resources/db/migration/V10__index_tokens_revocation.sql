@@ -0,0 +1,2 @@
+-- Supports polling for recently revoked tokens
+CREATE INDEX IF NOT EXISTS idx_tokens_revoked_updated_at ON tokens(revoked, updated_at);
@@ -0,0 +1,4 @@
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INT NOT NULL DEFAULT 0;
+
+-- The version registry only loads users that have been revoked at least once
+CREATE INDEX IF NOT EXISTS idx_users_token_version ON users(token_version) WHERE token_version > 0;
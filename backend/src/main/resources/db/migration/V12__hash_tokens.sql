@@ -0,0 +1,14 @@
+-- Store tokens as fixed-size SHA-256 digests instead of the raw 512-char JWT
+ALTER TABLE tokens ADD COLUMN token_hash VARCHAR(64);
+ALTER TABLE tokens ADD COLUMN expires_at TIMESTAMP;
+
+UPDATE tokens
+SET token_hash = encode(sha256(convert_to(token, 'UTF8')), 'hex'),
+    expires_at = created_at + INTERVAL '1 day';
+
+ALTER TABLE tokens ALTER COLUMN token_hash SET NOT NULL;
+ALTER TABLE tokens ALTER COLUMN expires_at SET NOT NULL;
+ALTER TABLE tokens DROP COLUMN token;
+
+CREATE UNIQUE INDEX idx_tokens_token_hash ON tokens(token_hash);
+CREATE INDEX idx_tokens_expires_at ON tokens(expires_at);
@@ -0,0 +1,9 @@
+-- Shared token buckets for cluster-wide rate limiting
+CREATE TABLE rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    tokens DOUBLE PRECISION NOT NULL,
+    refilled_at BIGINT NOT NULL,
+    version BIGINT
+);
+
+CREATE INDEX idx_rate_limit_buckets_refilled_at ON rate_limit_buckets(refilled_at);
@@ -0,0 +1,10 @@
+-- Keyset pagination over live products: (sort key, id) for each supported ordering
+ALTER TABLE products ADD COLUMN IF NOT EXISTS deleted BOOLEAN NOT NULL DEFAULT FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products(created_at, id) WHERE deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products(price_per_day, id) WHERE deleted = FALSE;
+
+CREATE INDEX IF NOT EXISTS idx_products_available_created_at_id ON products(created_at, id)
+    WHERE available = TRUE AND deleted = FALSE;
+CREATE INDEX IF NOT EXISTS idx_products_available_price_id ON products(price_per_day, id)
+    WHERE available = TRUE AND deleted = FALSE;
@@ -0,0 +1,11 @@
+-- Full-text search over name, category and description, plus trigram matching for typos
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+ALTER TABLE products ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce(category, '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(description, '')), 'C')
+) STORED;
+
+CREATE INDEX idx_products_search_vector ON products USING gin (search_vector);
+CREATE INDEX idx_products_name_trgm ON products USING gin (name gin_trgm_ops);
@@ -0,0 +1,2 @@
+-- Delta sync walks every product, deleted ones included, in (updated_at, id) order
+CREATE INDEX IF NOT EXISTS idx_products_updated_at_id ON products(updated_at, id);
@@ -0,0 +1,24 @@
+-- Category dictionary: products reference a category by integer id instead of a free-form string
+CREATE TABLE categories (
+    id SERIAL PRIMARY KEY,
+    name VARCHAR(50) NOT NULL,
+    normalized_name VARCHAR(50) NOT NULL UNIQUE,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+-- The most common spelling of each category becomes its canonical name
+INSERT INTO categories (name, normalized_name)
+SELECT DISTINCT ON (lower(trim(category))) trim(category), lower(trim(category))
+FROM products
+WHERE category IS NOT NULL AND trim(category) <> ''
+GROUP BY trim(category)
+ORDER BY lower(trim(category)), count(*) DESC, trim(category);
+
+ALTER TABLE products ADD COLUMN category_id INTEGER REFERENCES categories(id);
+
+UPDATE products p
+SET category_id = c.id, category = c.name
+FROM categories c
+WHERE c.normalized_name = lower(trim(p.category));
+
+CREATE INDEX idx_products_category_id ON products(category_id, id) WHERE deleted = FALSE;
@@ -0,0 +1,2 @@
+-- Loads a product's current and future bookings for the reservation engine
+CREATE INDEX IF NOT EXISTS idx_rentals_product_rental_end ON rentals(product_id, rental_end) WHERE deleted = FALSE;
@@ -0,0 +1,6 @@
+-- Bulk "is there a free unit between these dates" checks: range overlap per product through GiST
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+CREATE INDEX IF NOT EXISTS idx_rentals_booking_range ON rentals
+    USING gist (product_id, tsrange(rental_start, rental_end, '[)'))
+    WHERE deleted = FALSE AND status <> 'RETURNED';
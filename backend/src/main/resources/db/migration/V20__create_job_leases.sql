@@ -0,0 +1,15 @@
+-- Cluster-wide leases for scheduled jobs, plus the position each job has reached
+CREATE TABLE job_leases (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_until TIMESTAMP NOT NULL,
+    locked_by VARCHAR(100),
+    high_water_mark TIMESTAMP
+);
+
+-- Overdue sweeper walks outstanding rentals by end date
+CREATE INDEX IF NOT EXISTS idx_rentals_outstanding_end ON rentals(rental_end, id)
+    WHERE deleted = FALSE AND status IN ('PENDING', 'ACTIVE');
+
+-- Overdue listing is a plain status read
+CREATE INDEX IF NOT EXISTS idx_rentals_overdue ON rentals(rental_end)
+    WHERE deleted = FALSE AND status = 'OVERDUE';
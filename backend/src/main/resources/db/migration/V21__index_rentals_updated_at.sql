@@ -0,0 +1,3 @@
+-- Reminder scheduler picks up recently written outstanding rentals
+CREATE INDEX IF NOT EXISTS idx_rentals_outstanding_updated_at ON rentals(updated_at)
+    WHERE deleted = FALSE AND status IN ('PENDING', 'ACTIVE');
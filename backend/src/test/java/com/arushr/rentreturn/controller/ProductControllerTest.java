@@ -0,0 +1,68 @@
+package com.arushr.rentreturn.controller;
+
+import com.arushr.rentreturn.model.Product;
+import com.arushr.rentreturn.service.CatalogResponseCache;
+import com.arushr.rentreturn.service.ProductService;
+import com.arushr.rentreturn.service.ProductSuggestIndex;
+import com.arushr.rentreturn.service.RentalService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+public class ProductControllerTest {
+
+    private final ProductService productService = mock(ProductService.class);
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        CatalogResponseCache responseCache = new CatalogResponseCache(
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 100, 60, 1024);
+        ProductController controller = new ProductController(productService, mock(ProductSuggestIndex.class),
+                responseCache, mock(RentalService.class));
+        mockMvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    public void testGetProductRevalidatesWithETag() throws Exception {
+        Product product = Product.builder()
+                .id(1L)
+                .name("Tent")
+                .pricePerDay(BigDecimal.TEN)
+                .updatedAt(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .build();
+        when(productService.findById(1L)).thenReturn(Optional.of(product));
+
+        String eTag = mockMvc.perform(get("/api/products/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/products/1").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, eTag));
+    }
+
+    @Test
+    public void testGetMissingProductIsNotFound() throws Exception {
+        when(productService.findById(2L)).thenReturn(Optional.empty());
+
+        mockMvc.perform(get("/api/products/2"))
+                .andExpect(status().isNotFound());
+    }
+}
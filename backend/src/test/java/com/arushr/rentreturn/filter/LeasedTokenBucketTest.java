@@ -0,0 +1,68 @@
+package com.arushr.rentreturn.filter;
+
+import com.arushr.rentreturn.service.RateLimitStoreService;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class LeasedTokenBucketTest {
+
+    private static final Duration MINUTE = Duration.ofMinutes(1);
+
+    private final RateLimitStoreService store = mock(RateLimitStoreService.class);
+
+    @Test
+    public void testServesLeasedBatchLocally() {
+        when(store.reserve(eq("auth:ip:1"), eq(20L), eq(MINUTE), eq(5L))).thenReturn(5L);
+        LeasedTokenBucket bucket = new LeasedTokenBucket("auth:ip:1", 20, MINUTE, 5, store);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(bucket.tryConsume().isConsumed());
+        }
+        verify(store, times(1)).reserve(any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    public void testRemembersEmptySharedBucket() {
+        when(store.reserve(any(), anyLong(), any(), anyLong())).thenReturn(0L);
+        LeasedTokenBucket bucket = new LeasedTokenBucket("auth:ip:1", 20, MINUTE, 5, store);
+
+        assertFalse(bucket.tryConsume().isConsumed());
+        assertFalse(bucket.tryConsume().isConsumed());
+        verify(store, times(1)).reserve(any(), anyLong(), any(), anyLong());
+    }
+
+    @Test
+    public void testEnforcesLimitLocallyWhenStoreIsUnavailable() {
+        when(store.reserve(any(), anyLong(), any(), anyLong()))
+                .thenThrow(new DataAccessResourceFailureException("connection refused"));
+        LeasedTokenBucket bucket = new LeasedTokenBucket("auth:ip:1", 2, MINUTE, 5, store);
+
+        assertTrue(bucket.tryConsume().isConsumed());
+        assertTrue(bucket.tryConsume().isConsumed());
+        assertFalse(bucket.tryConsume().isConsumed());
+    }
+
+    @Test
+    public void testEnforcesLimitLocallyWhenTransactionCannotBeOpened() {
+        when(store.reserve(any(), anyLong(), any(), anyLong()))
+                .thenThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction"));
+        LeasedTokenBucket bucket = new LeasedTokenBucket("auth:ip:1", 2, MINUTE, 5, store);
+
+        assertTrue(bucket.tryConsume().isConsumed());
+        assertTrue(bucket.tryConsume().isConsumed());
+        assertFalse(bucket.tryConsume().isConsumed());
+    }
+}
@@ -0,0 +1,50 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.model.Product;
+import com.arushr.rentreturn.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProductReadCacheTest {
+
+    private final ProductReadCache cache = new ProductReadCache(new SimpleMeterRegistry(), 100, 60);
+
+    private static Product product() {
+        return Product.builder()
+                .id(1L)
+                .name("Tent")
+                .stock(3)
+                .available(true)
+                .owner(User.builder().id(9L).username("owner").build())
+                .build();
+    }
+
+    @Test
+    public void testCallersGetTheirOwnCopies() {
+        Product first = cache.getById(1L, id -> Optional.of(product())).orElseThrow();
+        first.setStock(0);
+        first.setAvailable(false);
+        first.getOwner().setUsername("changed");
+
+        Product second = cache.getById(1L, id -> Optional.empty()).orElseThrow();
+
+        assertNotSame(first, second);
+        assertEquals(3, second.getStock());
+        assertTrue(second.isAvailable());
+        assertEquals("owner", second.getOwner().getUsername());
+    }
+
+    @Test
+    public void testListsHoldCopies() {
+        cache.getAvailable(() -> List.of(product())).get(0).setName("Changed");
+
+        assertEquals("Tent", cache.getAvailable(List::of).get(0).getName());
+    }
+}
@@ -0,0 +1,62 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.dto.product.ProductSuggestionDTO;
+import com.arushr.rentreturn.event.ProductChangedEvent;
+import com.arushr.rentreturn.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ProductSuggestIndexTest {
+
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ProductSuggestIndex index = new ProductSuggestIndex(productRepository);
+
+    private static ProductRepository.SuggestEntryView entry(Long id, String name) {
+        return new ProductRepository.SuggestEntryView() {
+            public Long getId() { return id; }
+            public String getName() { return name; }
+            public String getCategory() { return "Camping"; }
+            public boolean isAvailable() { return true; }
+        };
+    }
+
+    private List<String> names(String prefix) {
+        return index.suggest(prefix, 10).stream()
+                .filter(s -> s.getType() == ProductSuggestionDTO.Type.PRODUCT)
+                .map(ProductSuggestionDTO::getText)
+                .toList();
+    }
+
+    @Test
+    public void testKeepsChangesMadeWhileRebuilding() {
+        // The snapshot is read before the rename and the new product commit
+        when(productRepository.findAllSuggestEntries()).thenAnswer(invocation -> {
+            List<ProductRepository.SuggestEntryView> snapshot = List.of(entry(1L, "Tent"));
+            index.onProductChanged(new ProductChangedEvent(1L, "Dome tent", "Camping", true, false));
+            index.onProductChanged(new ProductChangedEvent(2L, "Stove", "Camping", true, false));
+            return snapshot;
+        });
+
+        index.rebuild();
+
+        assertEquals(List.of("Dome tent"), names("dome"));
+        assertEquals(List.of("Stove"), names("stove"));
+    }
+
+    @Test
+    public void testRebuildReplacesStaleEntries() {
+        index.onProductChanged(new ProductChangedEvent(3L, "Kayak", "Water", true, false));
+        when(productRepository.findAllSuggestEntries()).thenReturn(List.of(entry(1L, "Tent")));
+
+        index.rebuild();
+
+        assertTrue(names("kayak").isEmpty());
+        assertEquals(List.of("Tent"), names("tent"));
+    }
+}
@@ -0,0 +1,85 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.model.RateLimitBucket;
+import com.arushr.rentreturn.repository.RateLimitBucketRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.repository.config.BootstrapMode;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest(bootstrapMode = BootstrapMode.LAZY, properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.flyway.enabled=false",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RateLimitStoreService.class)
+public class RateLimitStoreServiceTest {
+
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    @Autowired
+    private RateLimitStoreService store;
+
+    @Autowired
+    private RateLimitBucketRepository rateLimitBucketRepository;
+
+    @Test
+    public void testReserveCreatesFullBucketAndTakesBatch() {
+        assertEquals(5, store.reserve("api:ip:1", 20, HOUR, 5));
+        assertEquals(15, rateLimitBucketRepository.findById("api:ip:1").orElseThrow().getTokens(), 0.001);
+
+        assertEquals(15, store.reserve("api:ip:1", 20, HOUR, 50));
+        assertEquals(0, store.reserve("api:ip:1", 20, HOUR, 5));
+    }
+
+    @Test
+    public void testReserveRefillsForElapsedTime() {
+        long halfHourAgo = System.currentTimeMillis() - HOUR.toMillis() / 2;
+        rateLimitBucketRepository.saveAndFlush(RateLimitBucket.builder()
+                .bucketKey("api:ip:2")
+                .tokens(0)
+                .refilledAt(halfHourAgo)
+                .build());
+
+        assertEquals(10, store.reserve("api:ip:2", 20, HOUR, 20));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void testConcurrentReservesNeverGrantMoreThanCapacity() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Long>> leases = new ArrayList<>();
+            for (int i = 0; i < 16; i++) {
+                leases.add(() -> store.reserve("webhook:global", 20, HOUR, 3));
+            }
+            long granted = 0;
+            for (Future<Long> lease : pool.invokeAll(leases)) {
+                granted += lease.get();
+            }
+            assertEquals(20, granted);
+        } finally {
+            pool.shutdownNow();
+            rateLimitBucketRepository.deleteById("webhook:global");
+        }
+    }
+}
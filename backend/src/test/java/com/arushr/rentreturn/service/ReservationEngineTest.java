@@ -0,0 +1,179 @@
+package com.arushr.rentreturn.service;
+
+import com.arushr.rentreturn.exception.BusinessRuleException;
+import com.arushr.rentreturn.model.Rental;
+import com.arushr.rentreturn.repository.ProductRepository;
+import com.arushr.rentreturn.repository.RentalRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ReservationEngineTest {
+
+    private static final Long PRODUCT_ID = 7L;
+    private static final LocalDateTime DAY_1 = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    private final RentalRepository rentalRepository = mock(RentalRepository.class);
+    private final ProductRepository productRepository = mock(ProductRepository.class);
+    private final ReservationEngine engine = new ReservationEngine(
+            rentalRepository, productRepository, new SimpleMeterRegistry(), 8, 1000, 100, 300, 180, false);
+    private final AtomicLong ids = new AtomicLong();
+
+    @BeforeEach
+    public void setUp() {
+        when(rentalRepository.findBookings(eq(PRODUCT_ID), any(LocalDateTime.class))).thenReturn(List.of());
+    }
+
+    private static RentalRepository.BookingView committed(Long id, LocalDateTime start, LocalDateTime end) {
+        return new RentalRepository.BookingView() {
+            public Long getId() { return id; }
+            public LocalDateTime getRentalStart() { return start; }
+            public LocalDateTime getRentalEnd() { return end; }
+        };
+    }
+
+    private Rental book(int units, LocalDateTime start, LocalDateTime end) {
+        return engine.reserve(PRODUCT_ID, units, start, end,
+                () -> Rental.builder().id(ids.incrementAndGet()).build());
+    }
+
+    @Test
+    public void testRejectsOverlapBeyondStock() {
+        book(2, DAY_1, DAY_1.plusDays(3));
+        book(2, DAY_1.plusDays(1), DAY_1.plusDays(4));
+
+        assertThrows(BusinessRuleException.class, () -> book(2, DAY_1.plusDays(2), DAY_1.plusDays(5)));
+    }
+
+    @Test
+    public void testBackToBackWindowsShareAUnit() {
+        book(1, DAY_1, DAY_1.plusDays(3));
+
+        assertDoesNotThrow(() -> book(1, DAY_1.plusDays(3), DAY_1.plusDays(6)));
+        assertThrows(BusinessRuleException.class, () -> book(1, DAY_1.plusDays(2), DAY_1.plusDays(4)));
+    }
+
+    @Test
+    public void testReleaseFreesTheUnit() {
+        Rental first = book(1, DAY_1, DAY_1.plusDays(3));
+        engine.release(PRODUCT_ID, first.getId());
+
+        assertDoesNotThrow(() -> book(1, DAY_1.plusDays(1), DAY_1.plusDays(2)));
+    }
+
+    @Test
+    public void testExtensionChecksOnlyTheAddedDays() {
+        Rental first = book(1, DAY_1, DAY_1.plusDays(3));
+        book(1, DAY_1.plusDays(5), DAY_1.plusDays(7));
+
+        assertDoesNotThrow(() -> engine.extend(PRODUCT_ID, 1, first.getId(),
+                DAY_1, DAY_1.plusDays(3), DAY_1.plusDays(5)));
+        assertThrows(BusinessRuleException.class, () -> engine.extend(PRODUCT_ID, 1, first.getId(),
+                DAY_1, DAY_1.plusDays(5), DAY_1.plusDays(6)));
+    }
+
+    @Test
+    public void testCalendarCountsEveryDayABookingTouches() {
+        LocalDate today = LocalDate.now();
+        book(3, today.atTime(10, 0), today.plusDays(2).atTime(10, 0));
+        book(3, today.plusDays(1).atStartOfDay(), today.plusDays(2).atStartOfDay());
+
+        assertArrayEquals(new int[] {1, 2, 1, 0}, engine.bookedPerDay(PRODUCT_ID, today, 4));
+    }
+
+    @Test
+    public void testConcurrentCheckoutsNeverOversell() throws Exception {
+        int units = 3;
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        try {
+            List<Callable<Boolean>> checkouts = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                checkouts.add(() -> {
+                    try {
+                        engine.reserve(PRODUCT_ID, units, DAY_1, DAY_1.plusDays(2), () -> {
+                            Thread.yield();
+                            return Rental.builder().id(ids.incrementAndGet()).build();
+                        });
+                        return true;
+                    } catch (BusinessRuleException e) {
+                        return false;
+                    }
+                });
+            }
+            int booked = 0;
+            for (Future<Boolean> checkout : pool.invokeAll(checkouts)) {
+                booked += checkout.get() ? 1 : 0;
+            }
+            assertEquals(units, booked);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testUncommittedBookingSurvivesCacheExpiry() {
+        // Zero TTL: every lookup misses the cache and would rebuild from committed rows
+        ReservationEngine expiring = new ReservationEngine(
+                rentalRepository, productRepository, new SimpleMeterRegistry(), 8, 1000, 100, 0, 180, false);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            expiring.reserve(PRODUCT_ID, 1, DAY_1, DAY_1.plusDays(2),
+                    () -> Rental.builder().id(ids.incrementAndGet()).build());
+            assertThrows(BusinessRuleException.class, () -> expiring.reserve(PRODUCT_ID, 1, DAY_1, DAY_1.plusDays(1),
+                    () -> Rental.builder().id(ids.incrementAndGet()).build()));
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertDoesNotThrow(() -> expiring.reserve(PRODUCT_ID, 1, DAY_1, DAY_1.plusDays(1),
+                () -> Rental.builder().id(ids.incrementAndGet()).build()));
+    }
+
+    @Test
+    public void testRejectsBookingCommittedOnAnotherNode() {
+        // Loads the set while the product is still free
+        engine.bookingsOf(PRODUCT_ID, DAY_1);
+        when(rentalRepository.findBookingsBetween(eq(PRODUCT_ID), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(committed(99L, DAY_1, DAY_1.plusDays(3))));
+
+        assertThrows(BusinessRuleException.class, () -> book(1, DAY_1.plusDays(1), DAY_1.plusDays(2)));
+        verify(productRepository).lockById(PRODUCT_ID);
+    }
+
+    @Test
+    public void testSingleNodeSkipsTheDatabaseCheck() {
+        ReservationEngine singleNode = new ReservationEngine(
+                rentalRepository, productRepository, new SimpleMeterRegistry(), 8, 1000, 100, 300, 180, true);
+
+        singleNode.reserve(PRODUCT_ID, 1, DAY_1, DAY_1.plusDays(1), () -> Rental.builder().id(1L).build());
+
+        verify(productRepository, never()).lockById(any());
+        verify(rentalRepository, never()).findBookingsBetween(any(), any(), any());
+    }
+}
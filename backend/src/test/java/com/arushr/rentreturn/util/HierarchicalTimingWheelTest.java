@@ -0,0 +1,49 @@
+package com.arushr.rentreturn.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HierarchicalTimingWheelTest {
+
+    private static final long TICK = 1000;
+
+    @Test
+    void testFiresEachEntryOnItsTickAcrossLevels() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 3, 0);
+        wheel.schedule("soon", 3 * TICK, "soon");
+        wheel.schedule("cascaded", 70 * TICK, "cascaded");
+        wheel.schedule("top", 300 * TICK, "top");
+
+        assertEquals(List.of(), wheel.advance(2 * TICK));
+        assertEquals(List.of("soon"), wheel.advance(3 * TICK));
+        assertEquals(List.of(), wheel.advance(69 * TICK + 999));
+        assertEquals(List.of("cascaded"), wheel.advance(70 * TICK));
+        assertEquals(List.of("top"), wheel.advance(400 * TICK));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testRescheduleReplacesAndCancelRemoves() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 2, 0);
+        wheel.schedule("a", 5 * TICK, "first");
+        wheel.schedule("a", 20 * TICK, "second");
+        wheel.schedule("b", 6 * TICK, "b");
+        assertTrue(wheel.cancel("b"));
+
+        assertEquals(List.of(), wheel.advance(10 * TICK));
+        assertEquals(List.of("second"), wheel.advance(20 * TICK));
+        assertFalse(wheel.cancel("a"));
+    }
+
+    @Test
+    void testRejectsDeadlinesBeyondRange() {
+        HierarchicalTimingWheel<String, String> wheel = new HierarchicalTimingWheel<>(TICK, 8, 2, 0);
+        assertEquals(64 * TICK, wheel.getRangeMillis());
+        assertFalse(wheel.schedule("far", 64 * TICK, "far"));
+        assertTrue(wheel.schedule("near", 63 * TICK, "near"));
+        assertEquals(List.of("near"), wheel.advance(63 * TICK));
+    }
+}
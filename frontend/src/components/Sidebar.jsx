@@ -82,8 +82,6 @@ const ProductSidebar = ({
           <option value="">Default</option>
           <option value="price-asc">Price: Low to High</option>
           <option value="price-desc">Price: High to Low</option>
-          <option value="name-asc">Name: A-Z</option>
-          <option value="name-desc">Name: Z-A</option>
         </select>
       </div>
     </aside>
@@ -122,10 +122,10 @@ const Home = () => {
 
   const fetchProducts = async () => {
     try {
-      const response = await api.get('/products');
-      const allProducts = response.data;
-      setProducts(allProducts);
-      setFeaturedProducts(allProducts.slice(0, 6));
+      const response = await api.get('/products', { params: { limit: 6 } });
+      const firstPage = response.data.items || [];
+      setProducts(firstPage);
+      setFeaturedProducts(firstPage.slice(0, 6));
     } catch (error) {
       toast.error('Failed to load products');
     } finally {
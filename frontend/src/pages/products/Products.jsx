@@ -15,32 +15,86 @@ import toast from 'react-hot-toast';
  * - Displays a list/grid of products
  * - Allows navigation to product details and (if admin) to add/edit products
  */
+const PAGE_SIZE = 24;
+const SORT_PARAMS = { "": "newest", "price-asc": "price_asc", "price-desc": "price_desc" };
+
 const Products = () => {
   const { isAuthenticated } = useAuth();
   const [products, setProducts] = useState([]);
-  const [filteredProducts, setFilteredProducts] = useState([]);
+  const [categoryNames, setCategoryNames] = useState([]);
+  const [nextPage, setNextPage] = useState(null);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [error, setError] = useState("");
   const [selectedCategory, setSelectedCategory] = useState("All");
   const [searchTerm, setSearchTerm] = useState("");
+  const [query, setQuery] = useState("");
   const [priceRange, setPriceRange] = useState([0, 100000]);
   const [sortOption, setSortOption] = useState("");
   const [wishlist, setWishlist] = useState([]);
   const [wishlistLoading, setWishlistLoading] = useState(false);
 
+  // Wait for typing to pause before asking the server
+  useEffect(() => {
+    const timer = setTimeout(() => setQuery(searchTerm.trim()), 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  // Filtering, sorting and paging happen on the server; nextPage holds the
+  // cursor (filter) or page number (text search) of the following page
+  const fetchPage = (page) => {
+    const category = selectedCategory !== "All" ? selectedCategory : undefined;
+    if (query) {
+      return api
+        .get("/products/search", { params: { q: query, category, page: page || 0, size: PAGE_SIZE } })
+        .then((res) => ({ ...res.data, next: res.data.hasNext ? res.data.page + 1 : null }));
+    }
+    return api
+      .get("/products/filter", {
+        params: {
+          category,
+          minPrice: priceRange[0],
+          maxPrice: priceRange[1],
+          sort: SORT_PARAMS[sortOption] || "newest",
+          cursor: page || undefined,
+          limit: PAGE_SIZE,
+        },
+      })
+      .then((res) => ({ ...res.data, next: res.data.hasNext ? res.data.nextCursor : null }));
+  };
+
   useEffect(() => {
+    let cancelled = false;
     setLoading(true);
     setError("");
-    api.get("/products")
-      .then((res) => {
-        const data = res.data;
-        const productList = Array.isArray(data) ? data : data.products || [];
-        setProducts(productList);
-        setFilteredProducts(productList);
+    fetchPage(null)
+      .then((data) => {
+        if (cancelled) return;
+        setProducts(data.items || []);
+        setNextPage(data.next);
+        // Facets come with the first page; keep the full list while a category is selected
+        if (data.facets && selectedCategory === "All") {
+          setCategoryNames(data.facets.categories.map((c) => c.category).filter(Boolean));
+        }
       })
-      .catch((err) => setError(err.message || "Failed to fetch products"))
-      .finally(() => setLoading(false));
-  }, []);
+      .catch((err) => !cancelled && setError(err.message || "Failed to fetch products"))
+      .finally(() => !cancelled && setLoading(false));
+    return () => {
+      cancelled = true;
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [query, selectedCategory, priceRange, sortOption]);
+
+  const loadMore = () => {
+    setLoadingMore(true);
+    fetchPage(nextPage)
+      .then((data) => {
+        setProducts((prev) => [...prev, ...(data.items || [])]);
+        setNextPage(data.next);
+      })
+      .catch((err) => toast.error(err.message || "Failed to load more products"))
+      .finally(() => setLoadingMore(false));
+  };
 
   useEffect(() => {
     // Fetch wishlist only if user is authenticated
@@ -62,43 +116,6 @@ const Products = () => {
     fetchWishlist();
   }, [isAuthenticated]);
 
-  // Filter products based on category and search term
-  useEffect(() => {
-    let filtered = products;
-    
-    // Filter by category
-    if (selectedCategory !== "All") {
-      filtered = filtered.filter(product => product.category === selectedCategory);
-    }
-    
-    // Filter by search term
-    if (searchTerm) {
-      filtered = filtered.filter(product => 
-        (product.name && product.name.toLowerCase().includes(searchTerm.toLowerCase())) ||
-        (product.description && product.description.toLowerCase().includes(searchTerm.toLowerCase()))
-      );
-    }
-    
-    // Price range filter
-    filtered = filtered.filter(product => {
-      const price = product.pricePerDay || 0;
-      return price >= priceRange[0] && price <= priceRange[1];
-    });
-    
-    // Sorting
-    if (sortOption === "price-asc") {
-      filtered = [...filtered].sort((a, b) => (a.pricePerDay || 0) - (b.pricePerDay || 0));
-    } else if (sortOption === "price-desc") {
-      filtered = [...filtered].sort((a, b) => (b.pricePerDay || 0) - (a.pricePerDay || 0));
-    } else if (sortOption === "name-asc") {
-      filtered = [...filtered].sort((a, b) => (a.name || '').localeCompare(b.name || ''));
-    } else if (sortOption === "name-desc") {
-      filtered = [...filtered].sort((a, b) => (b.name || '').localeCompare(a.name || ''));
-    }
-    
-    setFilteredProducts(filtered);
-  }, [products, selectedCategory, searchTerm, priceRange, sortOption]);
-
   const toggleWishlist = async (productId) => {
     if (!isAuthenticated) {
       toast.error('Please login to manage your wishlist');
@@ -123,7 +140,7 @@ const Products = () => {
   };
 
   // Get unique categories
-  const categories = ["All", ...new Set(products.map(product => product.category || 'Uncategorized').filter(Boolean))];
+  const categories = ["All", ...categoryNames];
 
   // TODO: Replace with actual user/admin role logic
   const isAdmin = window.localStorage.getItem("isAdmin") === "true";
@@ -168,8 +185,6 @@ const Products = () => {
               <option value="">Default</option>
               <option value="price-asc">Price: Low to High</option>
               <option value="price-desc">Price: High to Low</option>
-              <option value="name-asc">Name: A-Z</option>
-              <option value="name-desc">Name: Z-A</option>
             </select>
           </label>
         </div>
@@ -179,26 +194,22 @@ const Products = () => {
           </div>
         ) : error ? (
           <div className="text-red-600 py-12 text-center">{error}</div>
-        ) : products.length === 0 ? (
-          <div className="text-gray-500 py-12 text-center">
-            No products available.
-          </div>
         ) : (
           <>
             {/* Results count */}
             <div className="mb-4 text-gray-600">
-              Showing {filteredProducts.length} of {products.length} products
+              Showing {products.length} products
               {selectedCategory !== "All" && ` in ${selectedCategory}`}
-              {searchTerm && ` matching "${searchTerm}"`}
+              {query && ` matching "${query}"`}
             </div>
             {/* Products Grid */}
-            {filteredProducts.length === 0 ? (
+            {products.length === 0 ? (
               <div className="text-gray-500 py-12 text-center">
                 No products found matching your criteria.
               </div>
             ) : (
               <div className="grid grid-cols-1 sm:grid-cols-2 md:grid-cols-3 gap-8">
-                {filteredProducts.map((product) => {
+                {products.map((product) => {
                   return (
                     <Card className="cursor-pointer hover:shadow-lg transition-shadow group relative" key={product.id}>
                       {/* Heart button outside the Link */}
@@ -259,6 +270,13 @@ const Products = () => {
                 })}
               </div>
             )}
+            {nextPage !== null && (
+              <div className="flex justify-center mt-8">
+                <Button variant="outline" onClick={loadMore} disabled={loadingMore}>
+                  {loadingMore ? "Loading..." : "Load more"}
+                </Button>
+              </div>
+            )}
           </>
         )}
       </div>